@@ -0,0 +1,12 @@
+package com.sky.constant;
+
+/**
+ * Spring Cache 缓存名称
+ */
+public class CacheConstant {
+
+    public static final String READER_TYPES = "readerTypes";
+    public static final String BOOK_CATEGORIES = "bookCategories";
+    public static final String PORTAL_CAROUSEL = "portalCarousel";
+    public static final String PORTAL_POSTS = "portalPosts";
+}
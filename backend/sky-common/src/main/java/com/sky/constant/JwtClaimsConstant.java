@@ -9,4 +9,17 @@ public class JwtClaimsConstant {
     public static final String NAME = "name";
     public static final String CODE = "code";
 
+    /**
+     * 登录会话id（刷新令牌族），访问令牌与刷新令牌都携带
+     */
+    public static final String SID = "sid";
+    public static final String TOKEN_TYPE = "typ";
+    public static final String TYPE_REFRESH = "refresh";
+
+    /**
+     * 已验签令牌缓存的命名空间，区分管理端与用户端令牌
+     */
+    public static final String NS_ADMIN = "admin";
+    public static final String NS_USER = "user";
+
 }
@@ -4,6 +4,8 @@ public class BaseContext {
 
     public static ThreadLocal<Long> threadLocal = new ThreadLocal<>();
 
+    public static ThreadLocal<UserPrincipal> principalThreadLocal = new ThreadLocal<>();
+
     public static void setCurrentId(Long id) {
         threadLocal.set(id);
     }
@@ -16,4 +18,16 @@ public class BaseContext {
         threadLocal.remove();
     }
 
+    public static void setCurrentPrincipal(UserPrincipal principal) {
+        principalThreadLocal.set(principal);
+    }
+
+    public static UserPrincipal getCurrentPrincipal() {
+        return principalThreadLocal.get();
+    }
+
+    public static void removeCurrentPrincipal() {
+        principalThreadLocal.remove();
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.sky.context;
+
+/**
+ * 当前请求的读者身份，由拦截器根据已验签的令牌 claims 构造，请求结束时清除
+ */
+public class UserPrincipal {
+
+    private final Long userId;
+    private final String name;
+    private final String code;
+
+    public UserPrincipal(Long userId, String name, String code) {
+        this.userId = userId;
+        this.name = name;
+        this.code = code;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
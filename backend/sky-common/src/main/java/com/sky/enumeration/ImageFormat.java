@@ -0,0 +1,74 @@
+package com.sky.enumeration;
+
+/**
+ * 允许上传的图片格式，按文件头魔数识别，不信任客户端声明的类型与扩展名
+ */
+public enum ImageFormat {
+
+    JPEG(".jpg", "image/jpeg", "jpeg"),
+
+    PNG(".png", "image/png", "png"),
+
+    GIF(".gif", "image/gif", "gif"),
+
+    WEBP(".webp", "image/webp", null);
+
+    /**
+     * 识别所需的文件头字节数
+     */
+    public static final int HEADER_LENGTH = 12;
+
+    private final String extension;
+    private final String mimeType;
+    private final String imageIoName;
+
+    ImageFormat(String extension, String mimeType, String imageIoName) {
+        this.extension = extension;
+        this.mimeType = mimeType;
+        this.imageIoName = imageIoName;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * JDK ImageIO 中的格式名，JDK 无法编解码时为 null
+     */
+    public String getImageIoName() {
+        return imageIoName;
+    }
+
+    /**
+     * 根据文件头识别格式，无法识别时返回 null
+     *
+     * @param header 文件开头的字节
+     * @param length header 中的有效字节数
+     */
+    public static ImageFormat detect(byte[] header, int length) {
+        if (length >= 3 && u(header[0]) == 0xFF && u(header[1]) == 0xD8 && u(header[2]) == 0xFF) {
+            return JPEG;
+        }
+        if (length >= 8 && u(header[0]) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == '\r' && header[5] == '\n' && u(header[6]) == 0x1A && header[7] == '\n') {
+            return PNG;
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8'
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return GIF;
+        }
+        if (length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static int u(byte b) {
+        return b & 0xFF;
+    }
+}
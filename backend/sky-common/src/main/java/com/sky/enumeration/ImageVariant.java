@@ -0,0 +1,45 @@
+package com.sky.enumeration;
+
+/**
+ * 封面图的缩略尺寸，缩略图与原图放在同一目录，文件名在扩展名前追加后缀，
+ * 如 book/covers/abc.jpg 的列表缩略图为 book/covers/abc_grid.jpg
+ */
+public enum ImageVariant {
+
+    /**
+     * 列表、卡片
+     */
+    GRID("_grid"),
+
+    /**
+     * 详情页
+     */
+    DETAIL("_detail"),
+
+    /**
+     * 首页轮播、头图
+     */
+    CAROUSEL("_carousel");
+
+    private final String suffix;
+
+    ImageVariant(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * 原图对象名对应的缩略图对象名
+     */
+    public String objectName(String original) {
+        int slash = original.lastIndexOf('/');
+        int dot = original.lastIndexOf('.');
+        if (dot <= slash) {
+            return original + suffix;
+        }
+        return original.substring(0, dot) + suffix + original.substring(dot);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sky.exception;
+
+/**
+ * 对象存储读写失败
+ */
+public class StorageException extends BaseException {
+
+    public StorageException(String msg) {
+        super(msg);
+    }
+
+    public StorageException(String msg, Throwable cause) {
+        super(msg);
+        initCause(cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sky.json;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 已编码好的 UTF-8 JSON 响应体，由 {@link PreSerializedJsonHttpMessageConverter} 原样写出，不再经过 Jackson
+ */
+public class PreSerializedJson {
+
+    private final byte[] body;
+
+    public PreSerializedJson(byte[] body) {
+        this.body = body;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sky.json;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 直接写出 {@link PreSerializedJson} 字节的消息转换器，只写不读
+ */
+public class PreSerializedJsonHttpMessageConverter extends AbstractHttpMessageConverter<PreSerializedJson> {
+
+    public PreSerializedJsonHttpMessageConverter() {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PreSerializedJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PreSerializedJson readInternal(Class<? extends PreSerializedJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PreSerializedJson 不支持反序列化", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PreSerializedJson json, MediaType contentType) {
+        return (long) json.getBody().length;
+    }
+
+    @Override
+    protected void writeInternal(PreSerializedJson json, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(json.getBody());
+    }
+}
@@ -0,0 +1,64 @@
+package com.sky.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 以统一返回结果的格式 {"code":1,"msg":null,"data":[...]} 逐行写出 JSON 数组，
+ * 每写一行即序列化进输出流，内存占用与总行数无关。
+ * <p>
+ * 只写出成功结果：一旦开始写出，响应已提交，中途失败无法再改为错误结果。
+ * 因此只有全部写完才调用 {@link #finish()} 闭合 JSON，中途失败时留下不完整的 JSON，客户端据此判定导出失败。
+ */
+public class StreamingResultWriter {
+
+    private final JsonGenerator generator;
+    private long count;
+
+    public StreamingResultWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        generator.writeStartObject();
+        generator.writeNumberField("code", 1);
+        generator.writeNullField("msg");
+        generator.writeFieldName("data");
+        generator.writeStartArray();
+    }
+
+    public void write(Object row) throws IOException {
+        generator.writeObject(row);
+        count++;
+    }
+
+    /**
+     * 同 {@link #write(Object)}，IO 异常包装为 UncheckedIOException，供 MyBatis ResultHandler 等回调使用
+     */
+    public void writeUnchecked(Object row) {
+        try {
+            write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 已写出的行数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 闭合数组与结果对象并刷出缓冲，不关闭底层输出流
+     */
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.archive")
+@Data
+public class BorrowArchiveProperties {
+
+    /**
+     * 是否启用定时归档（手动触发不受此开关影响）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 归还超过多少天的记录移入归档表
+     */
+    private int horizonDays = 365;
+
+    /**
+     * 每批搬迁的记录数（按主键顺序）
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 两批之间的暂停时间（毫秒），用于限流
+     */
+    private long pauseMs = 200;
+
+    /**
+     * 单次运行最多处理的批次数，0 表示不限制
+     */
+    private int maxChunksPerRun = 0;
+
+}
@@ -0,0 +1,28 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.compression")
+@Data
+public class CompressionProperties {
+
+    /**
+     * 是否按 Accept-Encoding 对响应做 gzip 压缩
+     */
+    private boolean enabled = true;
+
+    /**
+     * 超过该字节数的响应才压缩；小响应压缩收益抵不过 CPU 开销
+     */
+    private int minResponseSize = 2048;
+
+    /**
+     * 参与压缩的内容类型；图片等已压缩的格式不在其中，仍可走 sendfile
+     */
+    private String[] mimeTypes = {"application/json", "text/html", "text/css", "text/plain",
+            "text/javascript", "application/javascript", "application/xml", "image/svg+xml"};
+
+}
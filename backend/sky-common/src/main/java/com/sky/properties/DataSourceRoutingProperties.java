@@ -0,0 +1,47 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 读写分离配置；从库连接池参数写在 sky.datasource-routing.replica.*（与 spring.datasource.druid.* 同名）
+ */
+@Component
+@ConfigurationProperties(prefix = "sky.datasource-routing")
+@Data
+public class DataSourceRoutingProperties {
+
+    /**
+     * 是否启用读写分离；关闭时只使用 spring.datasource 配置的单一主库
+     */
+    private boolean enabled = false;
+
+    /**
+     * 从库复制延迟超过该秒数时，读请求全部回退主库
+     */
+    private long maxReplicaLagSeconds = 5;
+
+    /**
+     * 查询复制延迟的语句；MySQL 8.0.22 起可改为 SHOW REPLICA STATUS。
+     * 结果为空说明从库未配置复制，默认判为不可用
+     */
+    private String lagQuery = "SHOW SLAVE STATUS";
+
+    /**
+     * 仅用于本地开发：允许把未配置复制的独立实例当作从库（复制延迟查询结果为空时仍判为可用）。
+     * 生产环境必须保持关闭，否则复制被误删时读请求会一直落到不再同步的库上
+     */
+    private boolean allowNonReplicating = false;
+
+    /**
+     * 复制延迟检查间隔（毫秒）
+     */
+    private long lagCheckIntervalMs = 5000;
+
+    /**
+     * 读者或管理员写入后，其读请求在该毫秒数内固定走主库，保证读到自己刚写入的数据
+     */
+    private long stickyMillis = 5000;
+
+}
@@ -0,0 +1,60 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.http-cache")
+@Data
+public class HttpCacheProperties {
+
+    /**
+     * 是否为门户只读接口输出 ETag / Last-Modified 并处理条件请求
+     */
+    private boolean enabled = true;
+
+    /**
+     * 图书接口的缓存秒数，0 表示每次都需重新验证（可借数量随借还变化）
+     */
+    private long bookMaxAge = 0;
+
+    /**
+     * 门户轮播、文章接口的缓存秒数
+     */
+    private long portalMaxAge = 60;
+
+    /**
+     * 读者类型接口的缓存秒数
+     */
+    private long readerTypeMaxAge = 300;
+
+    /**
+     * 是否缓存热点只读接口已序列化的响应体（按资源版本失效）
+     */
+    private boolean bodyCacheEnabled = true;
+
+    /**
+     * 响应体缓存的最大条目数，超出后整体清空重建
+     */
+    private int bodyCacheSize = 1024;
+
+    /**
+     * 响应体缓存条目的最长保留毫秒数，版本未变时也按此重新加载，兜底其它途径（如直接改库）造成的陈旧
+     */
+    private long bodyCacheTtlMs = 60000;
+
+    /**
+     * 是否把资源版本保存在 Redis 中（多实例部署必须开启）；关闭时版本只在本实例内存中，
+     * 其它实例上的变更不会使本实例的 ETag 与响应体缓存失效
+     */
+    private boolean redisEnabled = false;
+
+    private String redisKeyPrefix = "sky:resource-version:";
+
+    /**
+     * 开启 Redis 时本地重新读取资源版本的间隔（毫秒），即其它实例的变更最长多久后在本实例可见
+     */
+    private long versionRefreshMs = 1000;
+
+}
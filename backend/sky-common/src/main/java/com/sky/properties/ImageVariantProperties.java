@@ -0,0 +1,62 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.image-variant")
+@Data
+public class ImageVariantProperties {
+
+    /**
+     * 是否在上传后生成缩略图
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缩略图工作线程数
+     */
+    private int threads = 2;
+
+    /**
+     * 工作队列容量，队列满时任务转入重试列表，不阻塞上传请求
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 重试列表容量，超出后丢弃并记录错误日志
+     */
+    private int maxPending = 1000;
+
+    /**
+     * 单个任务的最大尝试次数
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 首次重试的等待时间（毫秒），之后每次翻倍
+     */
+    private long retryDelayMs = 30000;
+
+    /**
+     * 列表缩略图宽度
+     */
+    private int gridWidth = 320;
+
+    /**
+     * 详情图宽度
+     */
+    private int detailWidth = 720;
+
+    /**
+     * 轮播图宽度
+     */
+    private int carouselWidth = 1440;
+
+    /**
+     * JPEG 压缩质量（0~1）
+     */
+    private float jpegQuality = 0.82f;
+
+}
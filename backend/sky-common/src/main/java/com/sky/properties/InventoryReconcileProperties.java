@@ -0,0 +1,37 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.reconcile")
+@Data
+public class InventoryReconcileProperties {
+
+    /**
+     * 是否启用定时对账（手动触发不受此开关影响）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 定时对账发现差异时是否直接修复，否则只报告
+     */
+    private boolean autoRepair = false;
+
+    /**
+     * 每个分片覆盖的图书主键区间宽度
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 并行处理分片的线程数
+     */
+    private int parallelism = 4;
+
+    /**
+     * 报告中保留的差异明细条数上限
+     */
+    private int maxReportedDrifts = 100;
+
+}
@@ -0,0 +1,47 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.isbn")
+@Data
+public class IsbnLookupProperties {
+
+    /**
+     * 新增图书时是否按 ISBN 补全书名、作者、出版社
+     */
+    private boolean enabled = true;
+
+    /**
+     * 书目服务地址（Open Library Books API 兼容），测试时可指向本地桩服务
+     */
+    private String baseUrl = "https://openlibrary.org";
+
+    /**
+     * 单次查询超时（毫秒）
+     */
+    private int timeoutMs = 2000;
+
+    /**
+     * 到书目服务的最大并发连接数
+     */
+    private int maxConnections = 10;
+
+    /**
+     * 查到结果的缓存时间（分钟）
+     */
+    private long cacheTtlMinutes = 1440;
+
+    /**
+     * 查不到或查询失败的缓存时间（分钟），避免反复请求
+     */
+    private long negativeCacheTtlMinutes = 10;
+
+    /**
+     * 缓存条目上限，超过后整体清空
+     */
+    private int cacheSize = 10000;
+
+}
@@ -23,4 +23,21 @@ public class JwtProperties {
     private long userTtl;
     private String userTokenName;
 
+    /**
+     * 用户端访问令牌有效期（毫秒）。访问令牌可通过刷新令牌续期，应远短于刷新令牌有效期，
+     * 令牌泄露或账号冻结后的暴露窗口即为该时长；userTtl 仅用于兼容此前签发的长效令牌（吊销记录保留时长）
+     */
+    private long userAccessTtl = 15 * 60 * 1000L;
+
+    /**
+     * 用户端刷新令牌：有效期（每次刷新顺延）与签名秘钥（未配置时使用 userSecretKey）
+     */
+    private long userRefreshTtl = 7 * 24 * 3600 * 1000L;
+    private String userRefreshSecretKey;
+
+    /**
+     * 已验签令牌缓存的最大条目数，0 表示关闭缓存
+     */
+    private int verifiedCacheSize = 10000;
+
 }
@@ -0,0 +1,47 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.login-limit")
+@Data
+public class LoginRateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 单个账号的突发次数与每分钟补充次数
+     */
+    private int accountCapacity = 5;
+    private double accountRefillPerMinute = 5;
+
+    /**
+     * 单个 IP 的突发次数与每分钟补充次数
+     */
+    private int ipCapacity = 30;
+    private double ipRefillPerMinute = 30;
+
+    /**
+     * 锁分段数
+     */
+    private int stripes = 64;
+
+    /**
+     * 空闲多久的桶会被清理（毫秒）
+     */
+    private long idleEvictMs = 600000;
+
+    /**
+     * 是否信任 X-Forwarded-For（部署在反向代理之后时开启）
+     */
+    private boolean trustForwardedFor = false;
+
+    /**
+     * 是否使用 Redis 共享令牌桶（多实例部署），Redis 不可用时退回本地限流
+     */
+    private boolean redisEnabled = false;
+    private String redisKeyPrefix = "sky:login-limit:";
+
+}
@@ -0,0 +1,27 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.media")
+@Data
+public class MediaObjectProperties {
+
+    /**
+     * 本地摘要索引的最大条目数，超过后整体清空重建
+     */
+    private int indexCapacity = 10000;
+
+    /**
+     * 引用数归零后保留的小时数，覆盖“已上传但表单尚未保存”的窗口
+     */
+    private int gcGraceHours = 24;
+
+    /**
+     * 每批回收的对象数
+     */
+    private int gcBatchSize = 200;
+
+}
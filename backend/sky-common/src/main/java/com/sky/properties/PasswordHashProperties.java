@@ -0,0 +1,32 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.password")
+@Data
+public class PasswordHashProperties {
+
+    /**
+     * PBKDF2 迭代次数（工作因子），调高后旧哈希会在下次登录时升级
+     */
+    private int iterations = 120000;
+
+    /**
+     * 哈希线程数，0 表示使用 CPU 核数
+     */
+    private int threads = 0;
+
+    /**
+     * 等待队列长度，队列满时直接拒绝登录请求而不是占住请求线程
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 请求线程等待哈希结果的最长时间（毫秒）
+     */
+    private long timeoutMs = 5000;
+
+}
@@ -0,0 +1,27 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.popular")
+@Data
+public class PopularBookProperties {
+
+    /**
+     * 每个日分桶保留的计数器个数（Space-Saving 容量）
+     */
+    private int capacity = 256;
+
+    /**
+     * 排行榜快照的最短重算间隔（毫秒）
+     */
+    private long refreshIntervalMs = 1000;
+
+    /**
+     * 检查点文件路径，重启时从这里恢复
+     */
+    private String checkpointFile = "data/popular-books.ckpt";
+
+}
@@ -0,0 +1,22 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.register-filter")
+@Data
+public class RegisterFilterProperties {
+
+    /**
+     * 预计账号规模（学号/工号与手机号各一个布隆过滤器）
+     */
+    private long expectedUsers = 200000;
+
+    /**
+     * 期望误判率，误判时只是多查一次数据库
+     */
+    private double fpp = 0.01;
+
+}
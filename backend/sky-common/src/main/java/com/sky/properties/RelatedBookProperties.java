@@ -0,0 +1,32 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.related")
+@Data
+public class RelatedBookProperties {
+
+    /**
+     * 每本书保留的相关图书个数
+     */
+    private int topN = 20;
+
+    /**
+     * 单个读者参与计算的最近借阅图书数上限，避免借阅量极大的账号产生平方级的共现对
+     */
+    private int maxBasketSize = 100;
+
+    /**
+     * 全量重建的并行度，0 表示使用 CPU 核数
+     */
+    private int parallelism = 0;
+
+    /**
+     * 书目信息（书名/作者/封面）缓存的最大条目数，超出后整体清空
+     */
+    private int metaCacheSize = 10000;
+
+}
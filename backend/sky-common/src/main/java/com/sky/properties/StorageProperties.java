@@ -0,0 +1,47 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.storage")
+@Data
+public class StorageProperties {
+
+    /**
+     * 存储实现：oss（阿里云 OSS，凭据见 sky.alioss）或 local（本地目录）
+     */
+    private String type = "oss";
+
+    /**
+     * local 模式下的存储根目录
+     */
+    private String localRoot = "./media";
+
+    /**
+     * local 模式下对外访问地址的前缀，对象名直接拼在其后
+     */
+    private String localUrlPrefix = "/media/";
+
+    /**
+     * OSS 客户端连接池的最大连接数
+     */
+    private int ossMaxConnections = 64;
+
+    /**
+     * OSS 建立连接超时（毫秒）
+     */
+    private int ossConnectionTimeoutMs = 5000;
+
+    /**
+     * OSS 读写超时（毫秒）
+     */
+    private int ossSocketTimeoutMs = 30000;
+
+    /**
+     * OSS 空闲连接保留时间（毫秒），超过后由客户端回收
+     */
+    private long ossIdleConnectionTimeMs = 60000;
+
+}
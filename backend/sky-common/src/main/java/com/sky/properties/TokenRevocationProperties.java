@@ -0,0 +1,38 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sky.revocation")
+@Data
+public class TokenRevocationProperties {
+
+    /**
+     * 布隆过滤器预计容纳的吊销条目数
+     */
+    private long expectedEntries = 100000;
+
+    /**
+     * 布隆过滤器期望误判率
+     */
+    private double fpp = 0.01;
+
+    /**
+     * 清理过期条目并重建过滤器的间隔（毫秒）
+     */
+    private long sweepIntervalMs = 60000;
+
+    /**
+     * 是否通过 Redis 在多实例间同步吊销记录
+     */
+    private boolean redisEnabled = false;
+
+    /**
+     * Redis 键前缀与广播频道
+     */
+    private String redisKeyPrefix = "sky:revoked:";
+    private String redisChannel = "sky:revocation";
+
+}
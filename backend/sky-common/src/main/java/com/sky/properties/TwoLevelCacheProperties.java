@@ -0,0 +1,56 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "sky.cache")
+@Data
+public class TwoLevelCacheProperties {
+
+    /**
+     * 是否在本地缓存之下叠加 Redis 共享层（多实例部署）；关闭时为纯本地缓存，适合单机部署
+     */
+    private boolean redisEnabled = false;
+
+    private String redisKeyPrefix = "sky:cache:";
+
+    /**
+     * 全局键版本，缓存对象结构不兼容地变更后递增，旧键随 TTL 自然过期
+     */
+    private String keyVersion = "1";
+
+    /**
+     * 默认过期秒数（Redis 层；纯本地模式下即本地层）
+     */
+    private long ttlSeconds = 600;
+
+    /**
+     * 叠加 Redis 时本地层的默认过期秒数，决定其它实例清空缓存后本实例最长多久可见
+     */
+    private long localTtlSeconds = 30;
+
+    /**
+     * 本地层默认最大条目数，超出后整体清空
+     */
+    private int maxSize = 1000;
+
+    /**
+     * 按缓存名覆盖上述默认值，如 sky.cache.caches.readerTypes.ttl-seconds=3600
+     */
+    private Map<String, Spec> caches = new HashMap<>();
+
+    @Data
+    public static class Spec {
+
+        private Long ttlSeconds;
+
+        private Long localTtlSeconds;
+
+        private Integer maxSize;
+    }
+}
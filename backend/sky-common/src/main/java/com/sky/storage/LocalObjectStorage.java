@@ -0,0 +1,110 @@
+package com.sky.storage;
+
+import com.sky.exception.StorageException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 本地目录存储，用于不接 OSS 的内网部署与本地调试。
+ * 先写同目录下的临时文件再原子改名，读者不会看到写了一半的文件。
+ */
+@Slf4j
+public class LocalObjectStorage implements ObjectStorage {
+
+    private final Path root;
+    private final String urlPrefix;
+
+    public LocalObjectStorage(String root, String urlPrefix) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.urlPrefix = urlPrefix.endsWith("/") ? urlPrefix : urlPrefix + "/";
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new IllegalStateException("无法创建存储目录：" + this.root, e);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * 对象名对应的本地文件，拒绝跳出根目录的对象名
+     */
+    public Path resolve(String objectName) {
+        Path path = root.resolve(objectName).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new StorageException("非法的对象名");
+        }
+        return path;
+    }
+
+    @Override
+    public String put(String objectName, InputStream in, long contentLength, String contentType) {
+        Path target = resolve(objectName);
+        Path tmp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tmp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("本地存储写入失败：object={}", objectName, e);
+            throw new StorageException("文件存储失败", e);
+        } finally {
+            deleteQuietly(tmp);
+        }
+        return urlOf(objectName);
+    }
+
+    @Override
+    public InputStream open(String objectName) {
+        try {
+            return Files.newInputStream(resolve(objectName));
+        } catch (IOException e) {
+            log.error("本地存储读取失败：object={}", objectName, e);
+            throw new StorageException("文件读取失败", e);
+        }
+    }
+
+    @Override
+    public boolean exists(String objectName) {
+        return Files.isRegularFile(resolve(objectName));
+    }
+
+    @Override
+    public void delete(String objectName) {
+        try {
+            Files.deleteIfExists(resolve(objectName));
+        } catch (IOException e) {
+            log.error("本地存储删除失败：object={}", objectName, e);
+            throw new StorageException("文件删除失败", e);
+        }
+    }
+
+    @Override
+    public String urlOf(String objectName) {
+        return urlPrefix + objectName;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 临时文件清理失败不影响结果
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sky.storage;
+
+import java.io.InputStream;
+
+/**
+ * 对象存储抽象：对象名为以 / 分隔的相对路径（如 book/covers/xxx.jpg），
+ * 实现需线程安全并在应用生命周期内复用底层连接，失败时抛出 {@link com.sky.exception.StorageException}。
+ */
+public interface ObjectStorage extends AutoCloseable {
+
+    /**
+     * 写入对象，同名对象会被覆盖
+     *
+     * @param objectName    对象名
+     * @param in            内容，由调用方负责关闭
+     * @param contentLength 内容长度，未知时传 -1
+     * @param contentType   MIME 类型，可为空
+     * @return 对象的访问地址
+     */
+    String put(String objectName, InputStream in, long contentLength, String contentType);
+
+    /**
+     * 打开对象内容，调用方负责关闭返回的流
+     */
+    InputStream open(String objectName);
+
+    /**
+     * 对象是否存在
+     */
+    boolean exists(String objectName);
+
+    /**
+     * 删除对象，不存在时忽略
+     */
+    void delete(String objectName);
+
+    /**
+     * 对象的访问地址（不检查对象是否存在）
+     */
+    String urlOf(String objectName);
+
+    /**
+     * 释放底层资源
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,102 @@
+package com.sky.storage;
+
+import com.aliyun.oss.ClientBuilderConfiguration;
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSClientBuilder;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.sky.exception.StorageException;
+import com.sky.properties.AliOssProperties;
+import com.sky.properties.StorageProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+
+/**
+ * 阿里云 OSS 存储：整个应用共用一个 OSSClient，由客户端内部的连接池复用 TLS 连接，
+ * 避免每次上传都重新握手、创建线程。
+ */
+@Slf4j
+public class OssObjectStorage implements ObjectStorage {
+
+    private final OSS client;
+    private final String bucketName;
+    private final String urlPrefix;
+
+    public OssObjectStorage(AliOssProperties oss, StorageProperties storage) {
+        ClientBuilderConfiguration conf = new ClientBuilderConfiguration();
+        conf.setMaxConnections(storage.getOssMaxConnections());
+        conf.setConnectionTimeout(storage.getOssConnectionTimeoutMs());
+        conf.setSocketTimeout(storage.getOssSocketTimeoutMs());
+        conf.setIdleConnectionTime(storage.getOssIdleConnectionTimeMs());
+        this.client = new OSSClientBuilder().build(oss.getEndpoint(), oss.getAccessKeyId(), oss.getAccessKeySecret(), conf);
+        this.bucketName = oss.getBucketName();
+        // 文件访问路径规则 https://BucketName.Endpoint/ObjectName
+        this.urlPrefix = "https://" + bucketName + "." + oss.getEndpoint() + "/";
+    }
+
+    @Override
+    public String put(String objectName, InputStream in, long contentLength, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        if (contentLength >= 0) {
+            metadata.setContentLength(contentLength);
+        }
+        if (contentType != null) {
+            metadata.setContentType(contentType);
+        }
+        try {
+            client.putObject(bucketName, objectName, in, metadata);
+        } catch (OSSException e) {
+            log.error("OSS 拒绝上传：object={}, code={}, message={}, requestId={}",
+                    objectName, e.getErrorCode(), e.getErrorMessage(), e.getRequestId());
+            throw new StorageException("文件存储失败", e);
+        } catch (ClientException e) {
+            log.error("OSS 上传失败：object={}", objectName, e);
+            throw new StorageException("文件存储服务不可用", e);
+        }
+        String url = urlOf(objectName);
+        log.info("文件上传到:{}", url);
+        return url;
+    }
+
+    @Override
+    public InputStream open(String objectName) {
+        try {
+            return client.getObject(bucketName, objectName).getObjectContent();
+        } catch (OSSException | ClientException e) {
+            log.error("OSS 读取对象失败：object={}", objectName, e);
+            throw new StorageException("文件读取失败", e);
+        }
+    }
+
+    @Override
+    public boolean exists(String objectName) {
+        try {
+            return client.doesObjectExist(bucketName, objectName);
+        } catch (OSSException | ClientException e) {
+            log.error("OSS 查询对象失败：object={}", objectName, e);
+            throw new StorageException("文件存储服务不可用", e);
+        }
+    }
+
+    @Override
+    public void delete(String objectName) {
+        try {
+            client.deleteObject(bucketName, objectName);
+        } catch (OSSException | ClientException e) {
+            log.error("OSS 删除对象失败：object={}", objectName, e);
+            throw new StorageException("文件删除失败", e);
+        }
+    }
+
+    @Override
+    public String urlOf(String objectName) {
+        return urlPrefix + objectName;
+    }
+
+    @Override
+    public void close() {
+        client.shutdown();
+    }
+}
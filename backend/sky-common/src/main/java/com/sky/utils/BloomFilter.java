@@ -0,0 +1,82 @@
+package com.sky.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 字符串布隆过滤器：mightContain 返回 false 时元素一定不存在，返回 true 时需再查精确集合。
+ * 位数组用 AtomicLongArray，put 与 mightContain 可并发调用；不支持删除，需要时整体重建。
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率，如 0.01
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(fpp, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        long words = Math.max(1, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(Math.toIntExact(words));
+        this.bitCount = words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long h = hash64(value);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long old;
+            do {
+                old = bits.get(word);
+                if ((old & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, old, old | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h = hash64(value);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0L);
+        }
+    }
+
+    /**
+     * FNV-1a 累加后再做一次 64 位混合，保证高低 32 位都足够分散
+     */
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sky.utils;
+
+/**
+ * 十六进制编码工具
+ */
+public class HexUtil {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private HexUtil() {
+    }
+
+    /**
+     * 小写十六进制编码
+     */
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+}
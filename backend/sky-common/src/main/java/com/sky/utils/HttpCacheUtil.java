@@ -0,0 +1,40 @@
+package com.sky.utils;
+
+/**
+ * HTTP 条件请求相关的工具方法
+ */
+public class HttpCacheUtil {
+
+    private HttpCacheUtil() {
+    }
+
+    /**
+     * 按 If-None-Match 的弱比较规则判断客户端持有的 ETag 是否与当前一致，
+     * 支持逗号分隔的多个值、W/ 前缀以及 *；当前 ETag 本身可以是弱 ETag
+     */
+    public static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = opaqueTag(candidate.trim());
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 把内容摘要或版本号包装成弱 ETag。响应经 gzip 压缩后字节不同，只能承诺语义等价；
+     * Tomcat 也只压缩不带强 ETag 的响应
+     */
+    public static String weakEtag(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
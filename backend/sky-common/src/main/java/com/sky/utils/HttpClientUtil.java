@@ -1,6 +1,8 @@
 package com.sky.utils;
 
 import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
@@ -8,9 +10,11 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
 
@@ -19,14 +23,45 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Http工具类
+ * <p>
+ * 所有请求共用一个带连接池的 HttpClient：按路由限制并发连接数，复用 keep-alive 连接，
+ * 后台线程定期清理过期与空闲连接。
  */
+@Slf4j
 public class HttpClientUtil {
 
     static final  int TIMEOUT_MSEC = 5 * 1000;
 
+    static final int MAX_TOTAL_CONNECTIONS = 200;
+
+    static final int MAX_CONNECTIONS_PER_ROUTE = 20;
+
+    static final long IDLE_EVICT_SECONDS = 30;
+
+    private static final PoolingHttpClientConnectionManager CONNECTION_MANAGER = buildConnectionManager();
+
+    private static final CloseableHttpClient HTTP_CLIENT = HttpClients.custom()
+            .setConnectionManager(CONNECTION_MANAGER)
+            .setDefaultRequestConfig(builderRequestConfig())
+            .evictExpiredConnections()
+            .evictIdleConnections(IDLE_EVICT_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * 单独调整某个目标地址（协议+主机+端口）的最大连接数
+     */
+    public static void setMaxPerRoute(String url, int max) {
+        URI uri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        // 路由需与客户端实际建立的一致：https 路由是 secure + LAYERED，否则按 equals 匹配不上，上限不生效
+        CONNECTION_MANAGER.setMaxPerRoute(new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure), max);
+    }
+
     /**
      * 发送GET方式请求
      * @param url
@@ -34,11 +69,18 @@ public class HttpClientUtil {
      * @return
      */
     public static String doGet(String url,Map<String,String> paramMap){
-        // 创建Httpclient对象
-        CloseableHttpClient httpClient = HttpClients.createDefault();
+        return doGet(url, paramMap, TIMEOUT_MSEC);
+    }
 
+    /**
+     * 发送GET方式请求，非 200 响应或请求失败时返回空串
+     * @param url
+     * @param paramMap
+     * @param timeoutMsec 连接、等待连接池与读取的超时时间
+     * @return
+     */
+    public static String doGet(String url, Map<String, String> paramMap, int timeoutMsec) {
         String result = "";
-        CloseableHttpResponse response = null;
 
         try{
             URIBuilder builder = new URIBuilder(url);
@@ -51,23 +93,19 @@ public class HttpClientUtil {
 
             //创建GET请求
             HttpGet httpGet = new HttpGet(uri);
-
-            //发送请求
-            response = httpClient.execute(httpGet);
-
-            //判断响应状态
-            if(response.getStatusLine().getStatusCode() == 200){
-                result = EntityUtils.toString(response.getEntity(),"UTF-8");
+            httpGet.setConfig(builderRequestConfig(timeoutMsec));
+
+            //发送请求，关闭响应即把连接归还连接池
+            try (CloseableHttpResponse response = HTTP_CLIENT.execute(httpGet)) {
+                //判断响应状态
+                if(response.getStatusLine().getStatusCode() == 200){
+                    result = EntityUtils.toString(response.getEntity(),"UTF-8");
+                } else {
+                    EntityUtils.consume(response.getEntity());
+                }
             }
         }catch (Exception e){
-            e.printStackTrace();
-        }finally {
-            try {
-                response.close();
-                httpClient.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            log.warn("GET 请求失败：{}", url, e);
         }
 
         return result;
@@ -81,9 +119,6 @@ public class HttpClientUtil {
      * @throws IOException
      */
     public static String doPost(String url, Map<String, String> paramMap) throws IOException {
-        // 创建Httpclient对象
-        CloseableHttpClient httpClient = HttpClients.createDefault();
-        CloseableHttpResponse response = null;
         String resultString = "";
 
         try {
@@ -103,18 +138,12 @@ public class HttpClientUtil {
 
             httpPost.setConfig(builderRequestConfig());
 
-            // 执行http请求
-            response = httpClient.execute(httpPost);
-
-            resultString = EntityUtils.toString(response.getEntity(), "UTF-8");
+            // 执行http请求，关闭响应即把连接归还连接池
+            try (CloseableHttpResponse response = HTTP_CLIENT.execute(httpPost)) {
+                resultString = EntityUtils.toString(response.getEntity(), "UTF-8");
+            }
         } catch (Exception e) {
             throw e;
-        } finally {
-            try {
-                response.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
 
         return resultString;
@@ -128,9 +157,6 @@ public class HttpClientUtil {
      * @throws IOException
      */
     public static String doPost4Json(String url, Map<String, String> paramMap) throws IOException {
-        // 创建Httpclient对象
-        CloseableHttpClient httpClient = HttpClients.createDefault();
-        CloseableHttpResponse response = null;
         String resultString = "";
 
         try {
@@ -153,27 +179,34 @@ public class HttpClientUtil {
 
             httpPost.setConfig(builderRequestConfig());
 
-            // 执行http请求
-            response = httpClient.execute(httpPost);
-
-            resultString = EntityUtils.toString(response.getEntity(), "UTF-8");
+            // 执行http请求，关闭响应即把连接归还连接池
+            try (CloseableHttpResponse response = HTTP_CLIENT.execute(httpPost)) {
+                resultString = EntityUtils.toString(response.getEntity(), "UTF-8");
+            }
         } catch (Exception e) {
             throw e;
-        } finally {
-            try {
-                response.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
 
         return resultString;
     }
     private static RequestConfig builderRequestConfig() {
+        return builderRequestConfig(TIMEOUT_MSEC);
+    }
+
+    private static RequestConfig builderRequestConfig(int timeoutMsec) {
         return RequestConfig.custom()
-                .setConnectTimeout(TIMEOUT_MSEC)
-                .setConnectionRequestTimeout(TIMEOUT_MSEC)
-                .setSocketTimeout(TIMEOUT_MSEC).build();
+                .setConnectTimeout(timeoutMsec)
+                .setConnectionRequestTimeout(timeoutMsec)
+                .setSocketTimeout(timeoutMsec).build();
+    }
+
+    private static PoolingHttpClientConnectionManager buildConnectionManager() {
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+        manager.setMaxTotal(MAX_TOTAL_CONNECTIONS);
+        manager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        // 空闲超过 2 秒的连接在复用前先检查是否已被对端关闭
+        manager.setValidateAfterInactivity(2000);
+        return manager;
     }
 
 }
@@ -0,0 +1,120 @@
+package com.sky.utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 缩略图生成工具（基于 JDK ImageIO，支持 JPEG、PNG、GIF）
+ */
+public class ImageResizeUtil {
+
+    private ImageResizeUtil() {
+    }
+
+    /**
+     * 解码图片。原图比 maxTargetWidth 的两倍还宽时按整数倍隔行采样解码，
+     * 大尺寸原图不必整幅展开到内存中
+     *
+     * @return 解码后的图片，无法识别时返回 null
+     */
+    public static BufferedImage read(InputStream in, int maxTargetWidth) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / Math.max(1, maxTargetWidth * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 按宽度等比缩放，不放大。缩小超过一半时逐级减半，避免单次双线性插值的锯齿
+     */
+    public static BufferedImage resizeToWidth(BufferedImage source, int targetWidth, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int finalWidth = Math.min(width, targetWidth);
+        int finalHeight = Math.max(1, (int) Math.round((double) height * finalWidth / width));
+
+        BufferedImage current = source;
+        do {
+            int w = Math.max(finalWidth, width / 2);
+            int h = w == finalWidth ? finalHeight : Math.max(finalHeight, height / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                if (!keepAlpha) {
+                    // JPEG 没有透明通道，透明区域按白底处理
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, w, h);
+                }
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+            width = w;
+            height = h;
+        } while (width != finalWidth);
+        return current;
+    }
+
+    /**
+     * 编码图片
+     *
+     * @param formatName ImageIO 格式名（jpeg、png、gif）
+     * @param quality    JPEG 质量（0~1），其它格式忽略
+     */
+    public static byte[] write(BufferedImage image, String formatName, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+        if (!writers.hasNext()) {
+            throw new IOException("不支持的图片格式：" + formatName);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(formatName)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
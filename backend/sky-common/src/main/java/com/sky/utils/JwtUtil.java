@@ -7,6 +7,7 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 public class JwtUtil {
     /**
@@ -19,11 +20,21 @@ public class JwtUtil {
      * @return
      */
     public static String createJWT(String secretKey, long ttlMillis, Map<String, Object> claims) {
+        return createJWT(secretKey, ttlMillis, claims, UUID.randomUUID().toString().replace("-", ""));
+    }
+
+    /**
+     * 生成jwt，并指定令牌唯一标识（刷新令牌轮换时由调用方记录）
+     *
+     * @param tokenId 令牌唯一标识(jti)
+     */
+    public static String createJWT(String secretKey, long ttlMillis, Map<String, Object> claims, String tokenId) {
         // 指定签名的时候使用的签名算法，也就是header那部分
         SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.HS256;
 
         // 生成JWT的时间
-        long expMillis = System.currentTimeMillis() + ttlMillis;
+        long nowMillis = System.currentTimeMillis();
+        long expMillis = nowMillis + ttlMillis;
         Date exp = new Date(expMillis);
 
         // 设置jwt的body
@@ -32,6 +43,9 @@ public class JwtUtil {
                 .setClaims(claims)
                 // 设置签名使用的签名算法和签名使用的秘钥
                 .signWith(signatureAlgorithm, secretKey.getBytes(StandardCharsets.UTF_8))
+                // 令牌唯一标识与签发时间，用于登出/改密后的吊销判断
+                .setId(tokenId)
+                .setIssuedAt(new Date(nowMillis))
                 // 设置过期时间
                 .setExpiration(exp);
 
@@ -0,0 +1,131 @@
+package com.sky.utils;
+
+import java.util.Arrays;
+
+/**
+ * long -> int 的开放寻址哈希表（线性探测），避免 HashMap&lt;Long, Integer&gt; 的装箱与节点对象开销。
+ * 键 0 保留为空槽标记，调用方需保证键非 0（数据库自增主键满足该条件）。
+ * <p>
+ * 非线程安全，由调用方负责同步。
+ */
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public LongIntHashMap() {
+        this(8);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(long key) {
+        checkKey(key);
+        int idx = slot(key);
+        while (keys[idx] != 0) {
+            if (keys[idx] == key) {
+                return values[idx];
+            }
+            idx = (idx + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * 把 delta 累加到 key 的值上（不存在时视为 0），返回累加后的值
+     */
+    public int addTo(long key, int delta) {
+        checkKey(key);
+        int idx = slot(key);
+        while (keys[idx] != 0) {
+            if (keys[idx] == key) {
+                values[idx] += delta;
+                return values[idx];
+            }
+            idx = (idx + 1) & mask;
+        }
+        keys[idx] = key;
+        values[idx] = delta;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * 把另一个表的全部键值累加进来
+     */
+    public void addAll(LongIntHashMap other) {
+        other.forEach(this::addTo);
+    }
+
+    public void forEach(LongIntConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int idx = slot(key);
+                while (keys[idx] != 0) {
+                    idx = (idx + 1) & mask;
+                }
+                keys[idx] = key;
+                values[idx] = oldValues[i];
+            }
+        }
+    }
+
+    private static void checkKey(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("key 0 is reserved");
+        }
+    }
+
+    @FunctionalInterface
+    public interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+}
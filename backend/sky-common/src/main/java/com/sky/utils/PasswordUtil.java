@@ -1,26 +1,91 @@
 package com.sky.utils;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
 
+/**
+ * 密码哈希工具。新密码使用 PBKDF2-HMAC-SHA256 加盐迭代，格式为
+ * pbkdf2$迭代次数$盐(Base64)$摘要(Base64)；旧数据为无盐 SHA-256 十六进制串，仍可校验，
+ * 登录成功后由调用方按 needsRehash 升级。所有比较均为常量时间。
+ */
 public class PasswordUtil {
 
+    private static final String PBKDF2_PREFIX = "pbkdf2$";
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private PasswordUtil() {
     }
 
+    /**
+     * 生成 PBKDF2 哈希（CPU 密集，应在专用线程池执行）
+     */
+    public static String hash(String raw, int iterations) {
+        if (raw == null) {
+            return null;
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] key = pbkdf2(raw, salt, iterations);
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PBKDF2_PREFIX + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(key);
+    }
+
+    /**
+     * 校验密码，同时兼容 PBKDF2 与旧的 SHA-256 十六进制格式
+     */
+    public static boolean matches(String raw, String stored) {
+        if (raw == null || stored == null) {
+            return false;
+        }
+        if (!stored.startsWith(PBKDF2_PREFIX)) {
+            return matchesSha256(raw, stored);
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            Base64.Decoder b64 = Base64.getDecoder();
+            byte[] salt = b64.decode(parts[2]);
+            byte[] expected = b64.decode(parts[3]);
+            return MessageDigest.isEqual(pbkdf2(raw, salt, iterations, expected.length * 8), expected);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 旧格式或迭代次数低于目标值时需要重新哈希
+     */
+    public static boolean needsRehash(String stored, int iterations) {
+        if (stored == null || !stored.startsWith(PBKDF2_PREFIX)) {
+            return true;
+        }
+        int end = stored.indexOf('$', PBKDF2_PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(stored.substring(PBKDF2_PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
     public static String sha256Hex(String raw) {
         if (raw == null) {
             return null;
         }
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] bytes = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder(bytes.length * 2);
-            for (byte b : bytes) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
+            return HexUtil.toHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("SHA-256 not supported", e);
         }
@@ -30,7 +95,26 @@ public class PasswordUtil {
         if (raw == null || expectedSha256Hex == null) {
             return false;
         }
-        return sha256Hex(raw).equalsIgnoreCase(expectedSha256Hex);
+        byte[] actual = sha256Hex(raw).getBytes(StandardCharsets.US_ASCII);
+        byte[] expected = expectedSha256Hex.toLowerCase().getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(actual, expected);
     }
-}
 
+    private static byte[] pbkdf2(String raw, byte[] salt, int iterations) {
+        return pbkdf2(raw, salt, iterations, KEY_BITS);
+    }
+
+    private static byte[] pbkdf2(String raw, byte[] salt, int iterations, int keyBits) {
+        if (iterations < 1 || keyBits < 8) {
+            throw new IllegalArgumentException("invalid pbkdf2 parameters");
+        }
+        PBEKeySpec spec = new PBEKeySpec(raw.toCharArray(), salt, iterations, keyBits);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(PBKDF2_ALGORITHM + " not supported", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sky.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 频繁项计数器：固定容量 capacity，内存占用与数据流长度无关。
+ * 计数满时用新元素替换当前计数最小的元素，并把被替换者的计数记为误差上界，
+ * 任何真实频次大于 总量/capacity 的元素都保证在结果中。
+ * <p>
+ * 非线程安全，由调用方负责同步。
+ */
+public class SpaceSavingCounter {
+
+    private final int capacity;
+    private final Map<Long, Entry> counters;
+
+    public SpaceSavingCounter(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+
+    public void offer(long key) {
+        offer(key, 1L, 0L);
+    }
+
+    /**
+     * @param key   元素
+     * @param count 本次增加的计数
+     * @param error 该计数自带的误差（合并其它计数器时传入）
+     */
+    public void offer(long key, long count, long error) {
+        Entry existing = counters.get(key);
+        if (existing != null) {
+            existing.count += count;
+            existing.error += error;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Entry(key, count, error));
+            return;
+        }
+        Entry min = null;
+        for (Entry e : counters.values()) {
+            if (min == null || e.count < min.count) {
+                min = e;
+            }
+        }
+        counters.remove(min.key);
+        counters.put(key, new Entry(key, min.count + count, min.count + error));
+    }
+
+    /**
+     * 把另一个计数器的全部元素累加进来（用于滑动窗口内多个分桶的合并）
+     */
+    public void merge(SpaceSavingCounter other) {
+        for (Entry e : other.counters.values()) {
+            offer(e.key, e.count, e.error);
+        }
+    }
+
+    /**
+     * 按计数降序返回前 k 个元素的拷贝
+     */
+    public List<Entry> top(int k) {
+        List<Entry> all = entries();
+        all.sort((a, b) -> Long.compare(b.count, a.count));
+        return all.size() <= k ? all : new ArrayList<>(all.subList(0, k));
+    }
+
+    /**
+     * 返回全部元素的拷贝（用于持久化）
+     */
+    public List<Entry> entries() {
+        List<Entry> list = new ArrayList<>(counters.size());
+        for (Entry e : counters.values()) {
+            list.add(new Entry(e.key, e.count, e.error));
+        }
+        return list;
+    }
+
+    /**
+     * 从持久化的元素恢复，会先清空当前计数
+     */
+    public void restore(Collection<Entry> entries) {
+        counters.clear();
+        for (Entry e : entries) {
+            offer(e.key, e.count, e.error);
+        }
+    }
+
+    public static class Entry {
+        private final long key;
+        private long count;
+        private long error;
+
+        public Entry(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 计数的最大高估量，真实频次位于 [count - error, count]
+         */
+        public long getError() {
+            return error;
+        }
+    }
+}
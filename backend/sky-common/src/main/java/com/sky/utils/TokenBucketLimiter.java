@@ -0,0 +1,114 @@
+package com.sky.utils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 按键限流的令牌桶：桶容量 capacity，每秒补充 refillPerSecond 个令牌。
+ * 键按哈希分到固定数量的分段，每段一把锁，不同键的请求基本不互相阻塞；
+ * 长时间未访问且已补满的桶可通过 evictIdle 清理，内存只与活跃键数量相关。
+ */
+public class TokenBucketLimiter {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final Stripe[] stripes;
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond, int stripeCount) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        int n = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    public boolean tryAcquire(String key, long nowNanos) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, nowNanos);
+                stripe.buckets.put(key, bucket);
+            } else {
+                refill(bucket, nowNanos);
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 移除超过 idleNanos 未访问的桶（这些桶已补满，移除后重建的结果相同）
+     *
+     * @return 移除的桶数
+     */
+    public int evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        long fullAfter = (long) (capacity / refillPerNano);
+        long threshold = Math.max(idleNanos, fullAfter);
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Bucket> it = stripe.buckets.values().iterator();
+                while (it.hasNext()) {
+                    if (now - it.next().lastRefill > threshold) {
+                        it.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private void refill(Bucket bucket, long nowNanos) {
+        long elapsed = nowNanos - bucket.lastRefill;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * refillPerNano);
+            bucket.lastRefill = nowNanos;
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
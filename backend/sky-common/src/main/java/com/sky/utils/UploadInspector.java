@@ -0,0 +1,71 @@
+package com.sky.utils;
+
+import com.sky.enumeration.ImageFormat;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 上传内容的单遍检查：在缓冲区内预读文件头识别格式，再由 {@link #drain()} 读完剩余内容计算 SHA-256，
+ * 整个文件不会进入堆内存。调用方据摘要做去重检查，确需上传时再从上传临时文件重新打开流写出。
+ * <p>
+ * 非线程安全，一个实例只对应一次上传。
+ */
+public class UploadInspector {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MessageDigest digest;
+    private final ImageFormat format;
+    private final InputStream stream;
+
+    public UploadInspector(InputStream source) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(source, BUFFER_SIZE);
+        byte[] header = new byte[ImageFormat.HEADER_LENGTH];
+        buffered.mark(header.length);
+        int n = 0;
+        while (n < header.length) {
+            int r = buffered.read(header, n, header.length - n);
+            if (r < 0) {
+                break;
+            }
+            n += r;
+        }
+        buffered.reset();
+        this.format = ImageFormat.detect(header, n);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.stream = buffered;
+    }
+
+    /**
+     * 按文件头识别出的图片格式，不是受支持的图片时为 null
+     */
+    public ImageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * 从头读完全部内容并累计摘要
+     */
+    public void drain() throws IOException {
+        byte[] buf = new byte[8192];
+        int n;
+        while ((n = stream.read(buf, 0, buf.length)) >= 0) {
+            digest.update(buf, 0, n);
+        }
+    }
+
+    /**
+     * 已读取内容的 SHA-256（小写十六进制），应在 {@link #drain()} 之后调用
+     */
+    public String sha256Hex() {
+        return HexUtil.toHex(digest.digest());
+    }
+}
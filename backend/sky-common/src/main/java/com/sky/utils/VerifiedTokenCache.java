@@ -0,0 +1,174 @@
+package com.sky.utils;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 已验签 jwt 的有界缓存：以 SHA-256(命名空间 + 令牌) 为键，保存解析出的 claims 与过期时间，
+ * 同一令牌在过期前的后续请求不再重复验签、base64 解码和 JSON 解析。
+ * <p>
+ * 缓存只保存令牌摘要，不保存令牌原文；返回的 Claims 为共享对象，调用方只读不写。
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxSize;
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        this.entries = new ConcurrentHashMap<>(Math.max(16, this.maxSize / 4));
+    }
+
+    /**
+     * 先查缓存，未命中或已过期时走 JwtUtil.parseJWT 完整校验，校验失败的异常原样抛出
+     */
+    public Claims parse(String namespace, String secretKey, String token) {
+        if (maxSize == 0 || token == null) {
+            return JwtUtil.parseJWT(secretKey, token);
+        }
+        Key key = key(namespace, token);
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expMillis > now) {
+                hits.increment();
+                return cached.claims;
+            }
+            entries.remove(key, cached);
+        }
+        misses.increment();
+
+        Claims claims = JwtUtil.parseJWT(secretKey, token);
+        if (claims.getExpiration() != null) {
+            if (entries.size() >= maxSize) {
+                makeRoom(now);
+            }
+            entries.put(key, new Entry(namespace, claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * 移除单个令牌（登出等场景）
+     */
+    public void evict(String namespace, String token) {
+        if (token != null) {
+            entries.remove(key(namespace, token));
+        }
+    }
+
+    /**
+     * 移除命名空间内满足条件的全部令牌（如按用户 id 失效）
+     */
+    public void evictIf(String namespace, Predicate<Claims> predicate) {
+        entries.values().removeIf(e -> e.namespace.equals(namespace) && predicate.test(e.claims));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 先清掉已过期的条目，仍然满时按遍历顺序淘汰约 1/8，保证容量有界
+     */
+    private void makeRoom(long now) {
+        entries.values().removeIf(e -> e.expMillis <= now);
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 8);
+        Iterator<Key> it = entries.keySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static Key key(String namespace, String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        md.update(namespace.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+        byte[] d = md.digest(token.getBytes(StandardCharsets.UTF_8));
+        return new Key(toLong(d, 0), toLong(d, 8), toLong(d, 16), toLong(d, 24));
+    }
+
+    private static long toLong(byte[] b, int off) {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v = (v << 8) | (b[off + i] & 0xFF);
+        }
+        return v;
+    }
+
+    private static final class Key {
+        private final long h0;
+        private final long h1;
+        private final long h2;
+        private final long h3;
+
+        Key(long h0, long h1, long h2, long h3) {
+            this.h0 = h0;
+            this.h1 = h1;
+            this.h2 = h2;
+            this.h3 = h3;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return h0 == k.h0 && h1 == k.h1 && h2 == k.h2 && h3 == k.h3;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (h0 ^ (h0 >>> 32));
+        }
+    }
+
+    private static final class Entry {
+        private final String namespace;
+        private final Claims claims;
+        private final long expMillis;
+
+        Entry(String namespace, Claims claims, long expMillis) {
+            this.namespace = namespace;
+            this.claims = claims;
+            this.expMillis = expMillis;
+        }
+    }
+}
@@ -4,6 +4,18 @@ import lombok.Data;
 
 @Data
 public class AdminBookSaveRequest {
+
+    /**
+     * 各字段最大长度，与 book 表列宽一致
+     */
+    public static final int TITLE_MAX_LENGTH = 200;
+    public static final int AUTHOR_MAX_LENGTH = 100;
+    public static final int PUBLISHER_MAX_LENGTH = 100;
+    public static final int ISBN_MAX_LENGTH = 20;
+    public static final int CATEGORY_MAX_LENGTH = 50;
+    public static final int LOCATION_MAX_LENGTH = 100;
+    public static final int COVER_URL_MAX_LENGTH = 255;
+
     private String coverUrl;
     private String title;
     private String author;
@@ -0,0 +1,8 @@
+package com.sky.dto;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    private String refreshToken;
+}
@@ -0,0 +1,22 @@
+package com.sky.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CirculationStat {
+    /**
+     * 统计维度：day / category / reader_type
+     */
+    private String dimension;
+    private String dimKey;
+    private Long borrowCount;
+    private Long returnCount;
+    private Long renewCount;
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,19 @@
+package com.sky.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class MediaObject {
+    /**
+     * 内容 SHA-256（小写十六进制）
+     */
+    private String digest;
+    private String objectName;
+    private String contentType;
+    private Long size;
+    private Integer refCount;
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,20 @@
+package com.sky.entity;
+
+import lombok.Data;
+
+@Data
+public class UserRefreshSession {
+    /**
+     * 会话ID（64位随机数）
+     */
+    private Long id;
+    private Long userId;
+    /**
+     * 当前有效的刷新令牌ID
+     */
+    private Long tokenId;
+    /**
+     * 过期时刻（毫秒时间戳）
+     */
+    private Long expiresAt;
+}
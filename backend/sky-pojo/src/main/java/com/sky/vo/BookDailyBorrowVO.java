@@ -0,0 +1,12 @@
+package com.sky.vo;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class BookDailyBorrowVO {
+    private LocalDate day;
+    private Long bookId;
+    private Long borrowCount;
+}
@@ -0,0 +1,18 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 按 ISBN 查到的图书书目信息
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookMetadataVO {
+    private String isbn;
+    private String title;
+    private String author;
+    private String publisher;
+}
@@ -0,0 +1,41 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单个缓存的命中统计（自启动起累计）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatVO {
+
+    private String name;
+
+    /**
+     * 本地层当前条目数
+     */
+    private Integer localSize;
+
+    private Long localHits;
+
+    private Long redisHits;
+
+    private Long misses;
+
+    private Long puts;
+
+    /**
+     * evict/clear 次数
+     */
+    private Long evictions;
+
+    private Long redisErrors;
+
+    /**
+     * (localHits + redisHits) / 总查询数
+     */
+    private Double hitRate;
+}
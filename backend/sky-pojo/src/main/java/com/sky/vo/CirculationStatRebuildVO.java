@@ -0,0 +1,14 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CirculationStatRebuildVO {
+    private Long maxRecordId;
+    private Integer chunks;
+    private Long durationMillis;
+}
@@ -0,0 +1,15 @@
+package com.sky.vo;
+
+import lombok.Data;
+
+@Data
+public class CirculationStatVO {
+    private String key;
+    /**
+     * 展示名称（分类名/读者类型名/日期）
+     */
+    private String label;
+    private Long borrowCount;
+    private Long returnCount;
+    private Long renewCount;
+}
@@ -0,0 +1,16 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CirculationStatsVO {
+    private List<CirculationStatVO> daily;
+    private List<CirculationStatVO> categories;
+    private List<CirculationStatVO> readerTypes;
+}
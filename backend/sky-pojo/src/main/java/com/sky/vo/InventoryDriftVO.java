@@ -0,0 +1,31 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryDriftVO {
+    private Long bookId;
+    private Integer totalQty;
+    private Integer availableQty;
+    /**
+     * 未归还借阅数
+     */
+    private Integer openLoans;
+
+    /**
+     * 按未归还借阅数推算出的可借数量
+     */
+    public int getExpectedAvailableQty() {
+        int total = totalQty == null ? 0 : totalQty;
+        int open = openLoans == null ? 0 : openLoans;
+        return Math.max(0, total - open);
+    }
+
+    public int getDrift() {
+        return (availableQty == null ? 0 : availableQty) - getExpectedAvailableQty();
+    }
+}
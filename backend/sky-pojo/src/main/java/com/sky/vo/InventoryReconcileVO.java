@@ -0,0 +1,33 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryReconcileVO {
+    private Boolean repair;
+    private Integer chunks;
+    private Long booksScanned;
+    /**
+     * 可借数量与未归还借阅数不一致的图书数
+     */
+    private Long driftCount;
+    /**
+     * 各图书差值绝对值之和
+     */
+    private Long totalAbsDrift;
+    private Long repaired;
+    private Long durationMillis;
+    private Long rowsPerSecond;
+    private LocalDateTime finishedAt;
+    /**
+     * 差异明细（截断到配置的上限）
+     */
+    private List<InventoryDriftVO> drifts;
+}
@@ -12,5 +12,9 @@ public class LoginResponse {
     private Long userId;
     private String name;
     private String code;
+    /**
+     * 刷新令牌，访问令牌过期后用于换取新令牌，每次使用后轮换
+     */
+    private String refreshToken;
 }
 
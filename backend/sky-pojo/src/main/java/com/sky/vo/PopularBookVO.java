@@ -0,0 +1,16 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopularBookVO {
+    private Long bookId;
+    private String title;
+    private String author;
+    private String coverUrl;
+    private Long borrowCount;
+}
@@ -0,0 +1,23 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortalHomeVO {
+    private List<CarouselItemVO> carousel;
+    /**
+     * 新闻（type=2）
+     */
+    private List<PortalPostListItemVO> news;
+    /**
+     * 公告（type=3）
+     */
+    private List<PortalPostListItemVO> notices;
+    private List<String> categories;
+}
@@ -0,0 +1,19 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedBookVO {
+    private Long bookId;
+    private String title;
+    private String author;
+    private String coverUrl;
+    /**
+     * 共同借阅相似度（余弦，0~1）
+     */
+    private Double score;
+}
@@ -0,0 +1,9 @@
+package com.sky.vo;
+
+import lombok.Data;
+
+@Data
+public class UserBookPairVO {
+    private Long userId;
+    private Long bookId;
+}
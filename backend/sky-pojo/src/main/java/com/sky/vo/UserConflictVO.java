@@ -0,0 +1,13 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserConflictVO {
+    private Boolean codeTaken;
+    private Boolean phoneTaken;
+}
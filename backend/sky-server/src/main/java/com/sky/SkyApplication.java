@@ -3,10 +3,14 @@ package com.sky;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableTransactionManagement //开启注解方式的事务管理
+@EnableScheduling //开启定时任务（检查点、归档等后台作业）
+@EnableCaching //开启注解方式的缓存（读者类型、图书分类、门户列表等参考数据）
 @Slf4j
 public class SkyApplication {
     public static void main(String[] args) {
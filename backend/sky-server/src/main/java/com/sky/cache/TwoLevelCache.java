@@ -0,0 +1,222 @@
+package com.sky.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.datasource.DataSourceRouter;
+import com.sky.vo.CacheStatVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 两级缓存：本地 ConcurrentHashMap（带过期、容量满时整体清空）叠加可选的 Redis 层。
+ * <p>
+ * Redis 键为 前缀:全局版本:缓存名:v缓存版本:键。clear() 只递增 Redis 中的缓存版本，旧键不再被读到并随 TTL 过期，
+ * 无需 SCAN 删除；缓存版本在本地按本地层 TTL 刷新，因此其它实例最多滞后一个本地 TTL。
+ * Redis 异常时退化为纯本地缓存，不影响业务。
+ * 回源查询（{@code @Cacheable(sync = true)} 走 {@link #get(Object, Callable)}）固定读主库，避免把从库的旧数据缓存一个 TTL。
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final ConcurrentMap<Object, LocalEntry> local = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long localTtlMillis;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String redisKeyPrefix;
+
+    private volatile long version;
+    private volatile long versionCheckedAt;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+
+    /**
+     * @param redisTemplate 为 null 时为纯本地缓存，本地层使用 ttlMillis
+     */
+    public TwoLevelCache(String name, int maxSize, long ttlMillis, long localTtlMillis,
+                         StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String redisKeyPrefix) {
+        super(false);
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.localTtlMillis = redisTemplate == null ? ttlMillis : Math.min(localTtlMillis, ttlMillis);
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisKeyPrefix = redisKeyPrefix + name + ":";
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = lookupLocal(key);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        if (redisTemplate != null) {
+            try {
+                String json = redisTemplate.opsForValue().get(redisKey(key));
+                if (json != null) {
+                    value = objectMapper.readValue(json, Object.class);
+                    putLocal(key, value);
+                    redisHits.increment();
+                    return value;
+                }
+            } catch (Exception e) {
+                redisError("读取", e);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        synchronized (this) {
+            Object value = lookupLocal(key);
+            if (value != null) {
+                return (T) value;
+            }
+            T loaded = DataSourceRouter.onPrimary(() -> {
+                try {
+                    return valueLoader.call();
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+            });
+            if (loaded != null) {
+                put(key, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        putLocal(key, storeValue);
+        puts.increment();
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(redisKey(key), objectMapper.writeValueAsString(storeValue),
+                        ttlMillis, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                redisError("写入", e);
+            }
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.remove(key);
+        evictions.increment();
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.delete(redisKey(key));
+            } catch (Exception e) {
+                redisError("删除", e);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        evictions.increment();
+        if (redisTemplate != null) {
+            try {
+                Long next = redisTemplate.opsForValue().increment(redisKeyPrefix + "version");
+                if (next != null) {
+                    version = next;
+                    versionCheckedAt = System.currentTimeMillis();
+                }
+            } catch (Exception e) {
+                redisError("递增版本", e);
+            }
+        }
+    }
+
+    public CacheStatVO stats() {
+        long localHit = localHits.sum();
+        long redisHit = redisHits.sum();
+        long miss = misses.sum();
+        long total = localHit + redisHit + miss;
+        return new CacheStatVO(name, local.size(), localHit, redisHit, miss, puts.sum(), evictions.sum(),
+                redisErrors.sum(), total == 0 ? 0d : (double) (localHit + redisHit) / total);
+    }
+
+    private Object lookupLocal(Object key) {
+        LocalEntry entry = local.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt < System.currentTimeMillis()) {
+            local.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    private void putLocal(Object key, Object value) {
+        if (local.size() >= maxSize) {
+            local.clear();
+        }
+        local.put(key, new LocalEntry(value, System.currentTimeMillis() + localTtlMillis));
+    }
+
+    private String redisKey(Object key) {
+        return redisKeyPrefix + "v" + currentVersion() + ":" + key;
+    }
+
+    private long currentVersion() {
+        long now = System.currentTimeMillis();
+        if (now - versionCheckedAt >= localTtlMillis) {
+            String value = redisTemplate.opsForValue().get(redisKeyPrefix + "version");
+            version = value == null ? 0L : Long.parseLong(value);
+            versionCheckedAt = now;
+        }
+        return version;
+    }
+
+    private void redisError(String action, Exception e) {
+        redisErrors.increment();
+        log.warn("Redis 缓存{}失败，cache={}：{}", action, name, e.getMessage());
+    }
+
+    private static class LocalEntry {
+        private final Object value;
+        private final long expireAt;
+
+        LocalEntry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sky.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sky.properties.TwoLevelCacheProperties;
+import com.sky.vo.CacheStatVO;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按名称惰性创建 {@link TwoLevelCache}，TTL 与容量取 sky.cache.caches.&lt;name&gt;，未配置的取默认值
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final TwoLevelCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param redisTemplate 为 null 时为纯本地模式
+     */
+    public TwoLevelCacheManager(TwoLevelCacheProperties properties, StringRedisTemplate redisTemplate) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = redisObjectMapper();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public List<CacheStatVO> getStats() {
+        List<CacheStatVO> list = new ArrayList<>(caches.size());
+        for (TwoLevelCache cache : caches.values()) {
+            list.add(cache.stats());
+        }
+        list.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return list;
+    }
+
+    private TwoLevelCache createCache(String name) {
+        TwoLevelCacheProperties.Spec spec = properties.getCaches().get(name);
+        long ttl = spec != null && spec.getTtlSeconds() != null ? spec.getTtlSeconds() : properties.getTtlSeconds();
+        long localTtl = spec != null && spec.getLocalTtlSeconds() != null
+                ? spec.getLocalTtlSeconds() : properties.getLocalTtlSeconds();
+        int maxSize = spec != null && spec.getMaxSize() != null ? spec.getMaxSize() : properties.getMaxSize();
+        return new TwoLevelCache(name, maxSize, ttl * 1000, localTtl * 1000, redisTemplate, objectMapper,
+                properties.getRedisKeyPrefix() + properties.getKeyVersion() + ":");
+    }
+
+    /**
+     * Redis 中的值带类型信息以便还原；只允许反序列化本项目与 JDK 集合/时间类型，防止被写入的恶意类型利用
+     */
+    private static ObjectMapper redisObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        BasicPolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.sky.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.math.")
+                .build();
+        mapper.activateDefaultTyping(validator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sky.config;
+
+import com.sky.cache.TwoLevelCacheManager;
+import com.sky.properties.TwoLevelCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Spring Cache：本地缓存叠加可选的 Redis 共享层（sky.cache.redis-enabled）
+ */
+@Configuration
+@Slf4j
+public class CacheConfiguration {
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(TwoLevelCacheProperties properties,
+                                             ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        StringRedisTemplate redisTemplate = properties.isRedisEnabled() ? redisTemplateProvider.getIfAvailable() : null;
+        log.info("缓存模式：{}", redisTemplate == null ? "纯本地" : "本地 + Redis");
+        return new TwoLevelCacheManager(properties, redisTemplate);
+    }
+}
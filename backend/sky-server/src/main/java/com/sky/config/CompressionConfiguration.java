@@ -0,0 +1,32 @@
+package com.sky.config;
+
+import com.sky.properties.CompressionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 由 Tomcat 按 Accept-Encoding 协商 gzip 压缩；未声明 gzip 的客户端仍拿到原始响应
+ */
+@Configuration
+@Slf4j
+public class CompressionConfiguration {
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer(
+            CompressionProperties compressionProperties) {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(compressionProperties.isEnabled());
+            compression.setMinResponseSize(DataSize.ofBytes(compressionProperties.getMinResponseSize()));
+            compression.setMimeTypes(compressionProperties.getMimeTypes());
+            factory.setCompression(compression);
+            log.info("响应压缩：enabled={}, minResponseSize={}", compressionProperties.isEnabled(),
+                    compressionProperties.getMinResponseSize());
+        };
+    }
+}
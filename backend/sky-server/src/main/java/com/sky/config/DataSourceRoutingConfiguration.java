@@ -0,0 +1,84 @@
+package com.sky.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.sky.datasource.DataSourceRouter;
+import com.sky.datasource.ReadRouteInterceptor;
+import com.sky.datasource.ReadWriteRoutingDataSource;
+import com.sky.properties.DataSourceRoutingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 读写分离：开启后替换 Druid 自动配置的单一数据源，主库沿用 spring.datasource.druid.*，
+ * 从库读取 sky.datasource-routing.replica.*；本地用两个独立 MySQL 实例验证路由时需同时开启
+ * sky.datasource-routing.allow-non-replicating
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sky.datasource-routing", name = "enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfiguration {
+
+    @Bean(initMethod = "init", destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.druid")
+    public DruidDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        DruidDataSource dataSource = new DruidDataSource();
+        // 与 Druid 自动配置一致：druid 前缀未配置连接信息时回退 spring.datasource.*
+        dataSource.setUrl(dataSourceProperties.getUrl());
+        dataSource.setUsername(dataSourceProperties.getUsername());
+        dataSource.setPassword(dataSourceProperties.getPassword());
+        if (StringUtils.hasText(dataSourceProperties.getDriverClassName())) {
+            dataSource.setDriverClassName(dataSourceProperties.getDriverClassName());
+        }
+        return dataSource;
+    }
+
+    @Bean(initMethod = "init", destroyMethod = "close")
+    @ConfigurationProperties("sky.datasource-routing.replica")
+    public DruidDataSource replicaDataSource() {
+        return new DruidDataSource();
+    }
+
+    @Bean
+    public DataSourceRouter dataSourceRouter(DataSourceRoutingProperties properties,
+                                             @Qualifier("replicaDataSource") DruidDataSource replicaDataSource) {
+        DataSourceRouter router = new DataSourceRouter(properties, replicaDataSource);
+        router.checkReplicaLag();
+        return router;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DruidDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DruidDataSource replicaDataSource,
+                                 DataSourceRouter dataSourceRouter) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRouter.PRIMARY, primaryDataSource);
+        targets.put(DataSourceRouter.REPLICA, replicaDataSource);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSourceRouter);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        log.info("读写分离已启用：replica={}", replicaDataSource.getUrl());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * 由 MyBatis 自动配置收集为插件
+     */
+    @Bean
+    public ReadRouteInterceptor readRouteInterceptor(DataSourceRouter dataSourceRouter) {
+        return new ReadRouteInterceptor(dataSourceRouter);
+    }
+}
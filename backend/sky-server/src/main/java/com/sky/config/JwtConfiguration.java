@@ -0,0 +1,15 @@
+package com.sky.config;
+
+import com.sky.properties.JwtProperties;
+import com.sky.utils.VerifiedTokenCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JwtConfiguration {
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(JwtProperties properties) {
+        return new VerifiedTokenCache(properties.getVerifiedCacheSize());
+    }
+}
@@ -0,0 +1,30 @@
+package com.sky.config;
+
+import com.sky.properties.AliOssProperties;
+import com.sky.properties.StorageProperties;
+import com.sky.storage.LocalObjectStorage;
+import com.sky.storage.ObjectStorage;
+import com.sky.storage.OssObjectStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 按 sky.storage.type 创建对象存储，应用关闭时释放连接池
+ */
+@Configuration
+@Slf4j
+public class ObjectStorageConfiguration {
+
+    public static final String TYPE_LOCAL = "local";
+
+    @Bean(destroyMethod = "close")
+    public ObjectStorage objectStorage(StorageProperties storageProperties, AliOssProperties aliOssProperties) {
+        if (TYPE_LOCAL.equalsIgnoreCase(storageProperties.getType())) {
+            log.info("使用本地对象存储：{}", storageProperties.getLocalRoot());
+            return new LocalObjectStorage(storageProperties.getLocalRoot(), storageProperties.getLocalUrlPrefix());
+        }
+        log.info("使用阿里云 OSS 对象存储：bucket={}", aliOssProperties.getBucketName());
+        return new OssObjectStorage(aliOssProperties, storageProperties);
+    }
+}
@@ -1,8 +1,10 @@
 package com.sky.config;
 
+import com.sky.interceptor.HttpCacheInterceptor;
 import com.sky.interceptor.JwtTokenAdminInterceptor;
 import com.sky.interceptor.JwtTokenUserInterceptor;
 import com.sky.json.JacksonObjectMapper;
+import com.sky.json.PreSerializedJsonHttpMessageConverter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -34,6 +36,9 @@ public class WebMvcConfiguration extends WebMvcConfigurationSupport {
     @Autowired
     private JwtTokenUserInterceptor jwtTokenUserInterceptor;
 
+    @Autowired
+    private HttpCacheInterceptor httpCacheInterceptor;
+
     /**
      * 注册自定义拦截器
      *
@@ -48,6 +53,11 @@ public class WebMvcConfiguration extends WebMvcConfigurationSupport {
         registry.addInterceptor(jwtTokenUserInterceptor)
                 .addPathPatterns("/api/user/**", "/api/borrow/**")
                 .excludePathPatterns("/api/auth/login", "/api/auth/register");
+
+        // 首页快照自带 ETag；相关图书、热门图书由异步索引生成，不跟随资源版本
+        registry.addInterceptor(httpCacheInterceptor)
+                .addPathPatterns("/api/books/**", "/api/portal/**", "/api/reader-types/**")
+                .excludePathPatterns("/api/portal/home", "/api/portal/popular-books", "/api/books/*/related");
     }
 
     /**
@@ -80,12 +90,14 @@ public class WebMvcConfiguration extends WebMvcConfigurationSupport {
     }
 
     /**
-     * 扩展消息转换器：统一LocalDateTime等类型的序列化格式，避免前端拿到数组/对象导致渲染异常
+     * 扩展消息转换器：统一LocalDateTime等类型的序列化格式，避免前端拿到数组/对象导致渲染异常；
+     * 已序列化的响应体（PreSerializedJson）直接写出字节，需排在 Jackson 之前
      */
     @Override
     protected void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
         MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
         converter.setObjectMapper(new JacksonObjectMapper());
         converters.add(0, converter);
+        converters.add(0, new PreSerializedJsonHttpMessageConverter());
     }
 }
@@ -1,9 +1,12 @@
 package com.sky.controller;
 
 import com.sky.dto.LoginRequest;
+import com.sky.dto.RefreshTokenRequest;
 import com.sky.dto.RegisterRequest;
+import com.sky.properties.JwtProperties;
 import com.sky.result.Result;
 import com.sky.service.AuthService;
+import com.sky.service.LoginRateLimitService;
 import com.sky.vo.LoginResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -18,8 +23,15 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private LoginRateLimitService loginRateLimitService;
+
     @PostMapping("/login")
-    public Result<LoginResponse> login(@RequestBody LoginRequest request) {
+    public Result<LoginResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        loginRateLimitService.checkLogin("user", request == null ? null : request.getCode(), httpRequest);
         return Result.success(authService.login(request));
     }
 
@@ -27,4 +39,15 @@ public class AuthController {
     public Result<LoginResponse> register(@RequestBody RegisterRequest request) {
         return Result.success(authService.register(request));
     }
+
+    @PostMapping("/refresh")
+    public Result<LoginResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        return Result.success(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public Result<Void> logout(@RequestBody(required = false) RefreshTokenRequest body, HttpServletRequest request) {
+        authService.logout(request.getHeader(jwtProperties.getUserTokenName()), body == null ? null : body.getRefreshToken());
+        return Result.success();
+    }
 }
@@ -1,9 +1,16 @@
 package com.sky.controller;
 
 import com.sky.entity.Book;
+import com.sky.exception.BaseException;
+import com.sky.json.PreSerializedJson;
 import com.sky.result.Result;
 import com.sky.service.BookService;
+import com.sky.service.RelatedBookService;
+import com.sky.service.ResourceVersionService;
+import com.sky.service.ResponseBodyCache;
+import com.sky.vo.RelatedBookVO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,25 +26,48 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private RelatedBookService relatedBookService;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    /**
+     * 图书列表：按已有分类浏览的结果缓存序列化字节；关键字搜索与不存在的分类不缓存，
+     * 避免任意参数占满缓存把常用条目挤掉
+     */
     @GetMapping
-    public Result<List<Book>> listBooks(
+    public PreSerializedJson listBooks(
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String category
     ) {
-        return Result.success(bookService.listBooks(q, category));
+        String cat = category == null ? "" : category.trim();
+        String key = null;
+        if (!StringUtils.hasText(q) && (cat.isEmpty() || bookService.listCategories().contains(cat))) {
+            key = "list:" + cat;
+        }
+        return responseBodyCache.get(ResourceVersionService.BOOK, key, () -> bookService.listBooks(q, category));
     }
 
     @GetMapping("/categories")
-    public Result<List<String>> listCategories() {
-        return Result.success(bookService.listCategories());
+    public PreSerializedJson listCategories() {
+        return responseBodyCache.get(ResourceVersionService.BOOK, "categories", bookService::listCategories);
     }
 
     @GetMapping("/{id}")
-    public Result<Book> getById(@PathVariable Long id) {
-        Book book = bookService.getById(id);
-        if (book == null) {
-            return Result.error("图书不存在");
-        }
-        return Result.success(book);
+    public PreSerializedJson getById(@PathVariable Long id) {
+        return responseBodyCache.get(ResourceVersionService.BOOK, "detail:" + id, () -> {
+            Book book = bookService.getById(id);
+            if (book == null) {
+                throw new BaseException("图书不存在");
+            }
+            return book;
+        });
+    }
+
+    @GetMapping("/{id}/related")
+    public Result<List<RelatedBookVO>> listRelated(@PathVariable Long id,
+                                                   @RequestParam(required = false) Integer limit) {
+        return Result.success(relatedBookService.listRelated(id, limit));
     }
 }
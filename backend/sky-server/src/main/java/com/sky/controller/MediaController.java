@@ -0,0 +1,169 @@
+package com.sky.controller;
+
+import com.sky.storage.LocalObjectStorage;
+import com.sky.storage.ObjectStorage;
+import com.sky.utils.HttpCacheUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * 本地存储模式下的媒体文件下载：优先交给 Tomcat sendfile 由内核直接发送，
+ * 不支持时用 FileChannel.transferTo 写出，文件内容都不经过堆内缓冲。
+ * 支持单段 Range、If-Range 与 If-None-Match；按内容摘要命名的原图内容不会变化，返回一年的 immutable 缓存。
+ */
+@RestController
+public class MediaController {
+
+    // Tomcat sendfile 约定的请求属性（org.apache.catalina.Globals）
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("(?:^|/)[0-9a-f]{64}\\.[a-z]+$");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "public, max-age=3600";
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    @Value("${sky.storage.local-url-prefix:/media/}")
+    private String urlPrefix;
+
+    @GetMapping("${sky.storage.local-url-prefix:/media/}**")
+    public void download(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!(objectStorage instanceof LocalObjectStorage)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String prefix = urlPrefix.endsWith("/") ? urlPrefix : urlPrefix + "/";
+        String objectName = path.startsWith(prefix) ? path.substring(prefix.length()) : "";
+        // 不对外提供隐藏文件（含写入中的临时文件）
+        if (objectName.isEmpty() || objectName.startsWith(".") || objectName.contains("/.")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file;
+        try {
+            file = ((LocalObjectStorage) objectStorage).resolve(objectName);
+        } catch (RuntimeException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        boolean immutable = CONTENT_ADDRESSED.matcher(objectName).find();
+        String etag = immutable
+                ? "\"" + objectName.substring(objectName.lastIndexOf('/') + 1, objectName.lastIndexOf('.')) + "\""
+                : "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        String contentType = request.getServletContext().getMimeType(file.getFileName().toString());
+        response.setContentType(contentType == null ? "application/octet-stream" : contentType);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", immutable ? IMMUTABLE : REVALIDATE);
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setDateHeader("Last-Modified", lastModified);
+
+        if (HttpCacheUtil.etagMatches(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if (range != null && (ifRange == null || ifRange.trim().equals(etag))) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod()) || end == start) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    /**
+     * 解析单段 Range。
+     *
+     * @return [start, end)；多段或无法识别时返回空数组（按完整内容响应）；范围不可满足时返回 null
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // bytes=-N 表示最后 N 个字节
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length : Math.min(length, Long.parseLong(last) + 1);
+            }
+            if (start >= length || start >= end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
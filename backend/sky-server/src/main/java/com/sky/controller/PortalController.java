@@ -1,17 +1,25 @@
 package com.sky.controller;
 
+import com.sky.json.PreSerializedJson;
 import com.sky.result.Result;
+import com.sky.service.PopularBookService;
+import com.sky.service.PortalHomeService;
 import com.sky.service.PortalService;
-import com.sky.vo.CarouselItemVO;
-import com.sky.vo.PortalPostDetailVO;
-import com.sky.vo.PortalPostListItemVO;
+import com.sky.service.ResourceVersionService;
+import com.sky.service.ResponseBodyCache;
+import com.sky.utils.HttpCacheUtil;
+import com.sky.vo.PopularBookVO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 
 @RestController
@@ -21,22 +29,63 @@ public class PortalController {
     @Autowired
     private PortalService portalService;
 
+    @Autowired
+    private PopularBookService popularBookService;
+
+    @Autowired
+    private PortalHomeService portalHomeService;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    /**
+     * 门户首页聚合数据：直接写出预先序列化的快照，ETag 命中时返回 304
+     */
+    @GetMapping("/home")
+    public ResponseEntity<PreSerializedJson> home(HttpServletRequest request) {
+        PortalHomeService.Snapshot snapshot = portalHomeService.getSnapshot();
+        if (HttpCacheUtil.etagMatches(request.getHeader("If-None-Match"), snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(new PreSerializedJson(snapshot.getBody()));
+    }
+
     @GetMapping("/carousel")
-    public Result<List<CarouselItemVO>> carousel() {
-        return Result.success(portalService.listCarousel());
+    public PreSerializedJson carousel() {
+        return responseBodyCache.get(ResourceVersionService.PORTAL_POST, "carousel", portalService::listCarousel);
     }
 
+    /**
+     * 缓存键只取合法类型与截断后的条数，任意参数组合不会占满缓存把常用条目挤掉
+     */
     @GetMapping("/posts")
-    public Result<List<PortalPostListItemVO>> posts(
+    public PreSerializedJson posts(
             @RequestParam(required = false) Integer type,
             @RequestParam(required = false) Integer limit
     ) {
-        return Result.success(portalService.listPosts(type, limit));
+        int resolvedLimit = PortalService.resolvePostLimit(limit);
+        String key = type == null || PortalService.isKnownType(type) ? "posts:" + type + ":" + resolvedLimit : null;
+        return responseBodyCache.get(ResourceVersionService.PORTAL_POST, key,
+                () -> portalService.listPosts(type, resolvedLimit));
     }
 
     @GetMapping("/posts/{id}")
-    public Result<PortalPostDetailVO> postDetail(@PathVariable Long id) {
-        return Result.success(portalService.getPostDetail(id));
+    public PreSerializedJson postDetail(@PathVariable Long id) {
+        return responseBodyCache.get(ResourceVersionService.PORTAL_POST, "detail:" + id,
+                () -> portalService.getPostDetail(id));
     }
-}
 
+    @GetMapping("/popular-books")
+    public Result<List<PopularBookVO>> popularBooks(
+            @RequestParam(required = false) String window,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return Result.success(popularBookService.listPopular(window, limit));
+    }
+}
@@ -2,7 +2,7 @@ package com.sky.controller;
 
 import com.sky.constant.MessageConstant;
 import com.sky.context.BaseContext;
-import com.sky.entity.User;
+import com.sky.context.UserPrincipal;
 import com.sky.result.Result;
 import com.sky.service.UserService;
 import com.sky.vo.BorrowedBookVO;
@@ -23,15 +23,12 @@ public class UserController {
 
     @GetMapping("/me")
     public Result<UserProfileVO> me() {
-        Long userId = BaseContext.getCurrentId();
-        if (userId == null) {
-            return Result.error(MessageConstant.USER_NOT_LOGIN);
-        }
-        User user = userService.getById(userId);
-        if (user == null) {
+        // 姓名与学号取自令牌，账号状态走缓存，不查库
+        UserPrincipal principal = BaseContext.getCurrentPrincipal();
+        if (principal == null || !userService.isActive(principal.getUserId())) {
             return Result.error(MessageConstant.USER_NOT_LOGIN);
         }
-        return Result.success(new UserProfileVO(user.getId(), user.getName(), user.getCode()));
+        return Result.success(new UserProfileVO(principal.getUserId(), principal.getName(), principal.getCode()));
     }
 
     @GetMapping("/borrowed")
@@ -1,7 +1,9 @@
 package com.sky.controller.admin;
 
 import com.sky.dto.AdminLoginRequest;
+import com.sky.properties.JwtProperties;
 import com.sky.result.Result;
+import com.sky.service.LoginRateLimitService;
 import com.sky.service.admin.AdminAuthService;
 import com.sky.vo.AdminLoginResponse;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/admin/auth")
 public class AdminAuthController {
@@ -17,9 +21,22 @@ public class AdminAuthController {
     @Autowired
     private AdminAuthService adminAuthService;
 
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private LoginRateLimitService loginRateLimitService;
+
     @PostMapping("/login")
-    public Result<AdminLoginResponse> login(@RequestBody AdminLoginRequest request) {
+    public Result<AdminLoginResponse> login(@RequestBody AdminLoginRequest request, HttpServletRequest httpRequest) {
+        loginRateLimitService.checkLogin("admin", request == null ? null : request.getUsername(), httpRequest);
         return Result.success(adminAuthService.login(request));
     }
+
+    @PostMapping("/logout")
+    public Result<Void> logout(HttpServletRequest request) {
+        adminAuthService.logout(request.getHeader(jwtProperties.getAdminTokenName()));
+        return Result.success();
+    }
 }
 
@@ -8,6 +8,9 @@ import com.sky.service.admin.AdminBookService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/admin/books")
 public class AdminBookController {
@@ -24,6 +27,18 @@ public class AdminBookController {
         return Result.success(adminBookService.page(keyword, category, status, page, pageSize));
     }
 
+    /**
+     * 按列表条件导出全部图书，边查边写，不在内存中组装整个列表
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(required = false) String keyword,
+                       @RequestParam(required = false) String category,
+                       @RequestParam(required = false) Integer status,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        adminBookService.export(keyword, category, status, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public Result<Book> get(@PathVariable Long id) {
         return Result.success(adminBookService.getById(id));
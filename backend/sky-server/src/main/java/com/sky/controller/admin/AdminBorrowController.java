@@ -5,9 +5,15 @@ import com.sky.dto.AdminBorrowReturnRequest;
 import com.sky.result.PageResult;
 import com.sky.result.Result;
 import com.sky.service.admin.AdminBorrowService;
+import com.sky.service.admin.BorrowArchiveService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/admin/borrows")
 public class AdminBorrowController {
@@ -15,12 +21,30 @@ public class AdminBorrowController {
     @Autowired
     private AdminBorrowService adminBorrowService;
 
+    @Autowired
+    private BorrowArchiveService borrowArchiveService;
+
     @GetMapping
     public Result<PageResult> page(@RequestParam(required = false) Integer status,
                                    @RequestParam(required = false) String keyword,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate borrowFrom,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate borrowTo,
                                    @RequestParam(required = false) Integer page,
                                    @RequestParam(required = false) Integer pageSize) {
-        return Result.success(adminBorrowService.page(status, keyword, page, pageSize));
+        return Result.success(adminBorrowService.page(status, keyword, borrowFrom, borrowTo, page, pageSize));
+    }
+
+    /**
+     * 按列表条件导出全部借阅记录，边查边写，不在内存中组装整个列表
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(required = false) Integer status,
+                       @RequestParam(required = false) String keyword,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate borrowFrom,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate borrowTo,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        adminBorrowService.export(status, keyword, borrowFrom, borrowTo, response.getOutputStream());
     }
 
     @PostMapping("/borrow")
@@ -34,5 +58,10 @@ public class AdminBorrowController {
         adminBorrowService.returnBook(request);
         return Result.success();
     }
+
+    @PostMapping("/archive")
+    public Result<Long> archive() {
+        return Result.success(borrowArchiveService.archive());
+    }
 }
 
@@ -0,0 +1,25 @@
+package com.sky.controller.admin;
+
+import com.sky.result.Result;
+import com.sky.service.admin.InventoryReconcileService;
+import com.sky.vo.InventoryReconcileVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/inventory")
+public class AdminInventoryController {
+
+    @Autowired
+    private InventoryReconcileService inventoryReconcileService;
+
+    @GetMapping("/reconcile")
+    public Result<InventoryReconcileVO> lastReport() {
+        return Result.success(inventoryReconcileService.getLastReport());
+    }
+
+    @PostMapping("/reconcile")
+    public Result<InventoryReconcileVO> reconcile(@RequestParam(defaultValue = "false") boolean repair) {
+        return Result.success(inventoryReconcileService.reconcile(repair));
+    }
+}
@@ -0,0 +1,41 @@
+package com.sky.controller.admin;
+
+import com.sky.cache.TwoLevelCacheManager;
+import com.sky.result.Result;
+import com.sky.service.CirculationStatService;
+import com.sky.vo.CacheStatVO;
+import com.sky.vo.CirculationStatRebuildVO;
+import com.sky.vo.CirculationStatsVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/stats")
+public class AdminStatsController {
+
+    @Autowired
+    private CirculationStatService circulationStatService;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    @GetMapping
+    public Result<CirculationStatsVO> stats(@RequestParam(required = false) Integer days) {
+        return Result.success(circulationStatService.getStats(days));
+    }
+
+    /**
+     * 各缓存的命中统计
+     */
+    @GetMapping("/cache")
+    public Result<List<CacheStatVO>> cacheStats() {
+        return Result.success(cacheManager.getStats());
+    }
+
+    @PostMapping("/rebuild")
+    public Result<CirculationStatRebuildVO> rebuild() {
+        return Result.success(circulationStatService.rebuild());
+    }
+}
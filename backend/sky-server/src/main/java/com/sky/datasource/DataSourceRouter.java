@@ -0,0 +1,180 @@
+package com.sky.datasource;
+
+import com.sky.context.AdminContext;
+import com.sky.context.BaseContext;
+import com.sky.properties.DataSourceRoutingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离的路由决策：
+ * <ul>
+ *     <li>处于事务中：{@code @Transactional(readOnly = true)} 的只读事务走从库（管理端分页、统计等大查询），
+ *     读写事务走主库；事务连接在第一条语句时确定，整个事务内不再切换</li>
+ *     <li>无事务：由 {@link ReadRouteInterceptor} 标记的 SELECT 在 Web 请求线程内走从库；
+ *     定时任务等后台线程常常先读后写（如库存核对），一律走主库</li>
+ *     <li>{@link #onPrimary} 内的读取走主库：登录/注册查重、账号状态等鉴权读取，以及写入共享缓存的回源查询，
+ *     这些读取的结果会影响其它请求，不能容忍复制延迟</li>
+ *     <li>从库延迟超限或不可用，或当前读者/管理员刚写入过数据时，读请求也回退主库</li>
+ * </ul>
+ */
+@Slf4j
+public class DataSourceRouter {
+
+    public static final String PRIMARY = "primary";
+
+    public static final String REPLICA = "replica";
+
+    private static final int STICKY_PRUNE_THRESHOLD = 10000;
+
+    private static final ThreadLocal<Boolean> READ_HINT = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final DataSourceRoutingProperties properties;
+
+    private final DataSource replicaDataSource;
+
+    private final ConcurrentMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    /**
+     * 首次检查前不信任从库
+     */
+    private volatile boolean replicaUsable;
+
+    public DataSourceRouter(DataSourceRoutingProperties properties, DataSource replicaDataSource) {
+        this.properties = properties;
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    /**
+     * 设置当前线程的读提示，返回原值以便嵌套调用后恢复
+     */
+    static Boolean setReadHint(Boolean readHint) {
+        Boolean previous = READ_HINT.get();
+        if (readHint == null) {
+            READ_HINT.remove();
+        } else {
+            READ_HINT.set(readHint);
+        }
+        return previous;
+    }
+
+    /**
+     * 在主库上执行 action 内的全部查询；未启用读写分离时不影响任何行为
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    /**
+     * 取连接时决定路由目标
+     */
+    public String route() {
+        boolean read;
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            read = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        } else {
+            read = Boolean.TRUE.equals(READ_HINT.get()) && RequestContextHolder.getRequestAttributes() != null;
+        }
+        if (!read || Boolean.TRUE.equals(FORCE_PRIMARY.get()) || !replicaUsable || isSticky()) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+
+    /**
+     * 记录当前读者/管理员发生了写入，此后一段时间内其读请求走主库
+     */
+    public void markWrite() {
+        String key = currentIdentity();
+        if (key == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (stickyUntil.size() >= STICKY_PRUNE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until < now);
+        }
+        stickyUntil.put(key, now + properties.getStickyMillis());
+    }
+
+    private boolean isSticky() {
+        String key = currentIdentity();
+        if (key == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(key);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    private static String currentIdentity() {
+        Long adminId = AdminContext.getCurrentId();
+        if (adminId != null) {
+            return "a:" + adminId;
+        }
+        Long userId = BaseContext.getCurrentId();
+        return userId == null ? null : "u:" + userId;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * 查询从库复制延迟并更新可用状态；查询失败、复制线程中断或延迟超限时判为不可用，
+     * 结果为空（未配置复制）时仅在显式允许后视为可用
+     */
+    public void checkReplicaLag() {
+        boolean usable;
+        String detail;
+        try (Connection conn = replicaDataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(properties.getLagQuery())) {
+            if (!rs.next()) {
+                usable = properties.isAllowNonReplicating();
+                detail = "未配置复制";
+            } else {
+                Long lag = readLag(rs);
+                usable = lag != null && lag <= properties.getMaxReplicaLagSeconds();
+                detail = lag == null ? "复制未运行" : "延迟" + lag + "s";
+            }
+        } catch (SQLException e) {
+            usable = false;
+            detail = "检查失败：" + e.getMessage();
+        }
+        if (usable != replicaUsable) {
+            log.warn("从库{}：{}", usable ? "恢复读流量" : "读流量回退主库", detail);
+        }
+        replicaUsable = usable;
+    }
+
+    private static Long readLag(ResultSet rs) throws SQLException {
+        for (String column : new String[]{"Seconds_Behind_Master", "Seconds_Behind_Source"}) {
+            try {
+                long lag = rs.getLong(column);
+                return rs.wasNull() ? null : lag;
+            } catch (SQLException ignored) {
+                // 列名随 MySQL 版本变化，继续尝试下一个
+            }
+        }
+        return null;
+    }
+}
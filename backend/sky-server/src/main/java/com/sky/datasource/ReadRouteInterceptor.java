@@ -0,0 +1,51 @@
+package com.sky.datasource;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * MyBatis 插件：按语句类型标记读写。SELECT 在执行期间打上读提示，供无事务时路由到从库；
+ * INSERT/UPDATE/DELETE 记录当前身份的写入，开启读己之写的主库粘滞
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class ReadRouteInterceptor implements Interceptor {
+
+    private final DataSourceRouter router;
+
+    public ReadRouteInterceptor(DataSourceRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        Boolean previous = DataSourceRouter.setReadHint(null);
+        // 写语句内部嵌套的查询（如 selectKey）沿用写标记，与写语句共用主库连接
+        boolean read = ms.getSqlCommandType() == SqlCommandType.SELECT && !Boolean.FALSE.equals(previous);
+        if (!read) {
+            router.markWrite();
+        }
+        DataSourceRouter.setReadHint(read);
+        try {
+            return invocation.proceed();
+        } finally {
+            DataSourceRouter.setReadHint(previous);
+        }
+    }
+}
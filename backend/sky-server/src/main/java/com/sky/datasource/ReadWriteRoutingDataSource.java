@@ -0,0 +1,21 @@
+package com.sky.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 按 {@link DataSourceRouter} 的决策在主库、从库之间选择连接；
+ * 外层需套 LazyConnectionDataSourceProxy，使取连接推迟到第一条语句执行时，此时事务只读标记与读提示均已就绪
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSourceRouter router;
+
+    public ReadWriteRoutingDataSource(DataSourceRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.route();
+    }
+}
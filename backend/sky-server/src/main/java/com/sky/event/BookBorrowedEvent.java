@@ -0,0 +1,20 @@
+package com.sky.event;
+
+import com.sky.entity.Book;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 借出成功事件（读者自助借阅与管理员代借均会发布），监听方应在事务提交后处理
+ */
+@Getter
+@AllArgsConstructor
+public class BookBorrowedEvent {
+
+    private final Long userId;
+
+    /**
+     * 借出时查询到的图书快照
+     */
+    private final Book book;
+}
@@ -0,0 +1,17 @@
+package com.sky.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 门户可见内容（门户文章、图书分类等）发生变更，监听方应在事务提交后处理
+ */
+@Getter
+@AllArgsConstructor
+public class PortalContentChangedEvent {
+
+    /**
+     * 变更来源，仅用于日志
+     */
+    private final String source;
+}
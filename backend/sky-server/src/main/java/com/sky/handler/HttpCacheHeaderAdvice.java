@@ -0,0 +1,42 @@
+package com.sky.handler;
+
+import com.sky.interceptor.HttpCacheInterceptor;
+import com.sky.result.Result;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 写出响应体前补充条件请求头：成功结果输出 {@link HttpCacheInterceptor} 记下的版本，
+ * 业务异常等错误结果禁止缓存，避免共享缓存以有效 ETag 保存错误响应
+ */
+@RestControllerAdvice
+public class HttpCacheHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest) || !(response instanceof ServletServerHttpResponse)) {
+            return body;
+        }
+        if (body instanceof Result && !Integer.valueOf(1).equals(((Result<?>) body).getCode())) {
+            response.getHeaders().setCacheControl("no-store");
+            return body;
+        }
+        HttpCacheInterceptor.writeHeaders(((ServletServerHttpRequest) request).getServletRequest(),
+                ((ServletServerHttpResponse) response).getServletResponse());
+        return body;
+    }
+}
@@ -0,0 +1,115 @@
+package com.sky.interceptor;
+
+import com.sky.properties.HttpCacheProperties;
+import com.sky.service.ResourceVersionService;
+import com.sky.utils.HttpCacheUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 门户只读接口的条件请求拦截器：客户端持有的版本仍有效时直接返回 304，不进入控制器和数据库查询；
+ * 否则记下请求开始时的版本，由 {@link com.sky.handler.HttpCacheHeaderAdvice} 在成功响应上输出
+ * 弱 ETag / Last-Modified / Cache-Control，错误结果不带缓存头。
+ */
+@Component
+public class HttpCacheInterceptor implements HandlerInterceptor {
+
+    private static final String VERSION_ATTRIBUTE = HttpCacheInterceptor.class.getName() + ".version";
+    private static final String MAX_AGE_ATTRIBUTE = HttpCacheInterceptor.class.getName() + ".maxAge";
+
+    @Autowired
+    private HttpCacheProperties httpCacheProperties;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod) || !httpCacheProperties.isEnabled()) {
+            return true;
+        }
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String resource;
+        long maxAge;
+        if (path.startsWith("/api/books")) {
+            resource = ResourceVersionService.BOOK;
+            maxAge = httpCacheProperties.getBookMaxAge();
+        } else if (path.startsWith("/api/portal/")) {
+            resource = ResourceVersionService.PORTAL_POST;
+            maxAge = httpCacheProperties.getPortalMaxAge();
+        } else if (path.startsWith("/api/reader-types")) {
+            resource = ResourceVersionService.READER_TYPE;
+            maxAge = httpCacheProperties.getReaderTypeMaxAge();
+        } else {
+            return true;
+        }
+
+        ResourceVersionService.Version version = resourceVersionService.current(resource);
+        long lastModified = version.getLastModified();
+        boolean lastModifiedReliable = isLastModifiedReliable(lastModified);
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        boolean notModified;
+        if (ifNoneMatch != null) {
+            notModified = HttpCacheUtil.etagMatches(ifNoneMatch, version.getEtag());
+        } else {
+            long ifModifiedSince = parseDateHeader(request, "If-Modified-Since");
+            notModified = lastModifiedReliable && ifModifiedSince >= lastModified;
+        }
+        if (notModified) {
+            writeHeaders(response, version, maxAge);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(VERSION_ATTRIBUTE, version);
+        request.setAttribute(MAX_AGE_ATTRIBUTE, maxAge);
+        return true;
+    }
+
+    /**
+     * 为成功响应输出本请求开始时记下的版本；未经本拦截器的请求不做处理
+     */
+    public static void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+        Object version = request.getAttribute(VERSION_ATTRIBUTE);
+        if (version instanceof ResourceVersionService.Version) {
+            writeHeaders(response, (ResourceVersionService.Version) version, (Long) request.getAttribute(MAX_AGE_ATTRIBUTE));
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, ResourceVersionService.Version version, long maxAge) {
+        response.setHeader("ETag", version.getEtag());
+        response.setHeader("Cache-Control", maxAge > 0
+                ? CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic().getHeaderValue()
+                : CacheControl.noCache().cachePublic().getHeaderValue());
+        if (isLastModifiedReliable(version.getLastModified())) {
+            response.setDateHeader("Last-Modified", version.getLastModified());
+        }
+    }
+
+    /**
+     * Last-Modified 只有秒级精度：版本在当前这一秒内刚变更时不输出，
+     * 否则同一秒内的再次变更无法被 If-Modified-Since 识别
+     */
+    private static boolean isLastModifiedReliable(long lastModified) {
+        return System.currentTimeMillis() / 1000 * 1000 > lastModified;
+    }
+
+    private static long parseDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -3,7 +3,8 @@ package com.sky.interceptor;
 import com.sky.constant.JwtClaimsConstant;
 import com.sky.context.AdminContext;
 import com.sky.properties.JwtProperties;
-import com.sky.utils.JwtUtil;
+import com.sky.service.TokenRevocationService;
+import com.sky.utils.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,12 @@ public class JwtTokenAdminInterceptor implements HandlerInterceptor {
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * 校验jwt
      *
@@ -45,8 +52,12 @@ public class JwtTokenAdminInterceptor implements HandlerInterceptor {
         //2、校验令牌
         try {
             log.info("jwt校验:{}", token);
-            Claims claims = JwtUtil.parseJWT(jwtProperties.getAdminSecretKey(), token);
+            Claims claims = verifiedTokenCache.parse(JwtClaimsConstant.NS_ADMIN, jwtProperties.getAdminSecretKey(), token);
             Long empId = Long.valueOf(claims.get(JwtClaimsConstant.EMP_ID).toString());
+            if (tokenRevocationService.isRevoked(JwtClaimsConstant.NS_ADMIN, empId, claims)) {
+                response.setStatus(401);
+                return false;
+            }
             AdminContext.setCurrentId(empId);
             log.info("当前员工id：", empId);
             //3、通过，放行
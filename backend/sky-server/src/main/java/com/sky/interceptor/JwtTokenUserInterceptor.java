@@ -2,8 +2,10 @@ package com.sky.interceptor;
 
 import com.sky.constant.JwtClaimsConstant;
 import com.sky.context.BaseContext;
+import com.sky.context.UserPrincipal;
 import com.sky.properties.JwtProperties;
-import com.sky.utils.JwtUtil;
+import com.sky.service.TokenRevocationService;
+import com.sky.utils.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,12 @@ public class JwtTokenUserInterceptor implements HandlerInterceptor {
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         if (!(handler instanceof HandlerMethod)) {
@@ -32,9 +40,20 @@ public class JwtTokenUserInterceptor implements HandlerInterceptor {
 
         String token = request.getHeader(jwtProperties.getUserTokenName());
         try {
-            Claims claims = JwtUtil.parseJWT(jwtProperties.getUserSecretKey(), token);
+            Claims claims = verifiedTokenCache.parse(JwtClaimsConstant.NS_USER, jwtProperties.getUserSecretKey(), token);
+            // 刷新令牌只能用于换取访问令牌
+            if (JwtClaimsConstant.TYPE_REFRESH.equals(claims.get(JwtClaimsConstant.TOKEN_TYPE))) {
+                response.setStatus(401);
+                return false;
+            }
             Long userId = Long.valueOf(claims.get(JwtClaimsConstant.USER_ID).toString());
+            if (tokenRevocationService.isRevoked(JwtClaimsConstant.NS_USER, userId, claims)) {
+                response.setStatus(401);
+                return false;
+            }
             BaseContext.setCurrentId(userId);
+            BaseContext.setCurrentPrincipal(new UserPrincipal(userId,
+                    (String) claims.get(JwtClaimsConstant.NAME), (String) claims.get(JwtClaimsConstant.CODE)));
             return true;
         } catch (Exception ex) {
             response.setStatus(401);
@@ -45,6 +64,7 @@ public class JwtTokenUserInterceptor implements HandlerInterceptor {
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
         BaseContext.removeCurrentId();
+        BaseContext.removeCurrentPrincipal();
     }
 }
 
@@ -15,6 +15,8 @@ public interface BookMapper {
 
     Book getById(@Param("id") Long id);
 
+    List<Book> listByIds(@Param("ids") List<Long> ids);
+
     int decrementAvailableQty(@Param("id") Long id);
 
     int incrementAvailableQty(@Param("id") Long id);
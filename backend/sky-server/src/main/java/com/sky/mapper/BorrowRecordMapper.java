@@ -1,9 +1,13 @@
 package com.sky.mapper;
 
+import com.sky.vo.BookDailyBorrowVO;
 import com.sky.vo.BorrowedBookVO;
+import com.sky.vo.UserBookPairVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
@@ -25,4 +29,12 @@ public interface BorrowRecordMapper {
               @Param("maxRenew") Integer maxRenew);
 
     Long getBookIdByRecordId(@Param("recordId") Long recordId, @Param("userId") Long userId);
+
+    List<BookDailyBorrowVO> listDailyBookCounts(@Param("since") LocalDateTime since);
+
+    void streamUserBookPairs(ResultHandler<UserBookPairVO> handler);
+
+    long countByUserAndBook(@Param("userId") Long userId, @Param("bookId") Long bookId);
+
+    List<Long> listRecentBookIdsByUser(@Param("userId") Long userId, @Param("limit") Integer limit);
 }
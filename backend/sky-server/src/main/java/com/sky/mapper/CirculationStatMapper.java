@@ -0,0 +1,45 @@
+package com.sky.mapper;
+
+import com.sky.entity.CirculationStat;
+import com.sky.vo.CirculationStatVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface CirculationStatMapper {
+
+    int upsertDeltas(@Param("deltas") List<CirculationStat> deltas);
+
+    int incrementByRecordId(@Param("recordId") Long recordId,
+                            @Param("returnDelta") Integer returnDelta,
+                            @Param("renewDelta") Integer renewDelta);
+
+    List<CirculationStatVO> listDaily(@Param("fromKey") String fromKey);
+
+    List<CirculationStatVO> listCategories();
+
+    List<CirculationStatVO> listReaderTypes();
+
+    Long getMaxRecordId();
+
+    List<CirculationStat> listAll();
+
+    List<CirculationStat> listAllForUpdate();
+
+    /**
+     * 以给定值覆盖汇总行（不存在时插入）
+     */
+    int replaceAll(@Param("stats") List<CirculationStat> stats);
+
+    int deleteEmpty();
+
+    List<CirculationStat> sumDayBorrow(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    List<CirculationStat> sumDayReturn(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    List<CirculationStat> sumCategory(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    List<CirculationStat> sumReaderType(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -6,15 +6,26 @@ import com.sky.vo.PortalPostListItemVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
 public interface PortalPostMapper {
 
-    List<CarouselItemVO> listCarousel();
+    /**
+     * 以下查询只返回发布时间不晚于 cutoff 的内容，cutoff 由发布调度推进，
+     * 不直接用 NOW()，保证同一 cutoff 下结果稳定、可缓存
+     */
+    List<CarouselItemVO> listCarousel(@Param("cutoff") LocalDateTime cutoff);
 
-    List<PortalPostListItemVO> listPosts(@Param("type") Integer type, @Param("limit") Integer limit);
+    List<PortalPostListItemVO> listPosts(@Param("type") Integer type, @Param("limit") Integer limit,
+                                         @Param("cutoff") LocalDateTime cutoff);
 
-    PortalPostDetailVO getDetailById(@Param("id") Long id);
+    PortalPostDetailVO getDetailById(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 发布时间晚于 after 的已启用内容的发布时间（去重），用于启动时恢复发布调度
+     */
+    List<LocalDateTime> listPendingPublishTimes(@Param("after") LocalDateTime after);
 }
 
@@ -1,8 +1,10 @@
 package com.sky.mapper;
 
 import com.sky.entity.User;
+import com.sky.vo.UserConflictVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 @Mapper
 public interface UserMapper {
@@ -11,9 +13,25 @@ public interface UserMapper {
 
     User getById(@Param("id") Long id);
 
-    User getByCode(@Param("code") String code);
+    /**
+     * 账号是否存在且未冻结
+     */
+    boolean isActive(@Param("id") Long id);
 
-    User getByPhone(@Param("phone") String phone);
+    /**
+     * 一次查询判断学号/工号与手机号是否已被占用（与唯一索引一致，包含已删除账号）
+     */
+    UserConflictVO checkConflict(@Param("code") String code, @Param("phone") String phone);
+
+    /**
+     * 流式读取全部账号的学号/工号与手机号，用于预热布隆过滤器
+     */
+    void streamIdentifiers(ResultHandler<User> handler);
 
     int insertReader(User user);
+
+    /**
+     * 仅当密码哈希仍为 oldHash 时替换（登录后升级哈希，避免覆盖并发的重置密码）
+     */
+    int upgradePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -0,0 +1,29 @@
+package com.sky.mapper;
+
+import com.sky.entity.UserRefreshSession;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface UserRefreshSessionMapper {
+
+    int insert(UserRefreshSession session);
+
+    UserRefreshSession getById(@Param("id") Long id);
+
+    /**
+     * 仅当出示的是当前令牌且会话未过期时轮换，返回 0 表示轮换失败
+     */
+    int rotate(@Param("id") Long id,
+               @Param("userId") Long userId,
+               @Param("presentedTokenId") Long presentedTokenId,
+               @Param("nextTokenId") Long nextTokenId,
+               @Param("expiresAt") Long expiresAt,
+               @Param("now") Long now);
+
+    int deleteById(@Param("id") Long id);
+
+    int deleteByUserId(@Param("userId") Long userId);
+
+    int deleteExpired(@Param("now") Long now);
+}
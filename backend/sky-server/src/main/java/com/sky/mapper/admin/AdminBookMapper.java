@@ -3,6 +3,7 @@ package com.sky.mapper.admin;
 import com.sky.entity.Book;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -17,6 +18,14 @@ public interface AdminBookMapper {
                     @Param("offset") Integer offset,
                     @Param("pageSize") Integer pageSize);
 
+    /**
+     * 按 list 的条件流式读取全部图书，用于导出
+     */
+    void streamList(@Param("keyword") String keyword,
+                    @Param("category") String category,
+                    @Param("status") Integer status,
+                    ResultHandler<Book> handler);
+
     Book getById(@Param("id") Long id);
 
     int insert(Book book);
@@ -3,20 +3,39 @@ package com.sky.mapper.admin;
 import com.sky.vo.AdminBorrowRecordVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
 public interface AdminBorrowRecordMapper {
 
-    long count(@Param("status") Integer status, @Param("keyword") String keyword);
+    long count(@Param("status") Integer status,
+               @Param("keyword") String keyword,
+               @Param("borrowFrom") LocalDateTime borrowFrom,
+               @Param("borrowTo") LocalDateTime borrowTo,
+               @Param("includeArchive") boolean includeArchive);
 
     List<AdminBorrowRecordVO> list(@Param("status") Integer status,
                                    @Param("keyword") String keyword,
+                                   @Param("borrowFrom") LocalDateTime borrowFrom,
+                                   @Param("borrowTo") LocalDateTime borrowTo,
+                                   @Param("includeArchive") boolean includeArchive,
                                    @Param("offset") Integer offset,
                                    @Param("pageSize") Integer pageSize);
 
+    /**
+     * 按 list 的条件流式读取全部借阅记录，用于导出
+     */
+    void streamList(@Param("status") Integer status,
+                    @Param("keyword") String keyword,
+                    @Param("borrowFrom") LocalDateTime borrowFrom,
+                    @Param("borrowTo") LocalDateTime borrowTo,
+                    @Param("includeArchive") boolean includeArchive,
+                    ResultHandler<AdminBorrowRecordVO> handler);
+
     long countActiveByBookId(@Param("bookId") Long bookId);
 
     int insertBorrowRecord(@Param("userId") Long userId,
@@ -0,0 +1,21 @@
+package com.sky.mapper.admin;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface BorrowRecordArchiveMapper {
+
+    List<Long> listArchivableIds(@Param("afterId") Long afterId,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("limit") Integer limit);
+
+    int copyToArchive(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    int deleteArchived(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    LocalDateTime getMaxArchivedBorrowAt();
+}
@@ -0,0 +1,23 @@
+package com.sky.mapper.admin;
+
+import com.sky.vo.InventoryDriftVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface InventoryReconcileMapper {
+
+    Long getMaxBookId();
+
+    /**
+     * 区间 (fromId, toId] 内图书的库存与未归还借阅数
+     */
+    List<InventoryDriftVO> listInventory(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 按未归还借阅数重新计算可借数量，只更新仍不一致的行
+     */
+    int repairAvailableQty(@Param("ids") List<Long> ids);
+}
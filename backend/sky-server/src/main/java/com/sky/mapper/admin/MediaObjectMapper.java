@@ -0,0 +1,46 @@
+package com.sky.mapper.admin;
+
+import com.sky.entity.MediaObject;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface MediaObjectMapper {
+
+    MediaObject getByDigest(@Param("digest") String digest);
+
+    /**
+     * 已存在相同摘要时忽略
+     */
+    int insertIgnore(MediaObject mediaObject);
+
+    /**
+     * 刷新最近上传时间，推迟回收；返回 0 表示记录已不存在
+     */
+    int touch(@Param("digest") String digest);
+
+    /**
+     * 引用数增减，最小为 0
+     */
+    int adjustRefCount(@Param("digest") String digest, @Param("delta") int delta);
+
+    int updateRefCount(@Param("digest") String digest, @Param("refCount") int refCount);
+
+    /**
+     * 引用数为 0 且在 before 之前未再变更的对象
+     */
+    List<MediaObject> listGarbage(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * 实际引用该地址的未删除图书与门户内容数
+     */
+    int countReferences(@Param("url") String url);
+
+    /**
+     * 仅在仍满足回收条件时删除记录，与并发的上传、引用互斥
+     */
+    int deleteIfGarbage(@Param("digest") String digest, @Param("before") LocalDateTime before);
+}
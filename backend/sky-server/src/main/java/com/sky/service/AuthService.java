@@ -1,6 +1,7 @@
 package com.sky.service;
 
 import com.sky.dto.LoginRequest;
+import com.sky.dto.RefreshTokenRequest;
 import com.sky.dto.RegisterRequest;
 import com.sky.vo.LoginResponse;
 
@@ -9,4 +10,17 @@ public interface AuthService {
     LoginResponse login(LoginRequest request);
 
     LoginResponse register(RegisterRequest request);
+
+    /**
+     * 登出：吊销当前访问令牌并结束刷新会话。访问令牌过期后会话仍由刷新令牌或过期令牌中的会话id结束，
+     * 两者都无效时忽略
+     *
+     * @param refreshToken 客户端持有的刷新令牌，可为空
+     */
+    void logout(String token, String refreshToken);
+
+    /**
+     * 用刷新令牌换取新的访问令牌，刷新令牌同时轮换
+     */
+    LoginResponse refresh(RefreshTokenRequest request);
 }
@@ -0,0 +1,18 @@
+package com.sky.service;
+
+import com.sky.entity.Book;
+import com.sky.vo.CirculationStatRebuildVO;
+import com.sky.vo.CirculationStatsVO;
+
+public interface CirculationStatService {
+
+    void recordBorrow(Book book, Long readerTypeId);
+
+    void recordReturn(Long recordId);
+
+    void recordRenew(Long recordId);
+
+    CirculationStatsVO getStats(Integer days);
+
+    CirculationStatRebuildVO rebuild();
+}
@@ -0,0 +1,18 @@
+package com.sky.service;
+
+import javax.servlet.http.HttpServletRequest;
+
+public interface LoginRateLimitService {
+
+    /**
+     * 登录前按账号与客户端 IP 限流，超限时抛出业务异常
+     *
+     * @param scope 区分用户端与管理端
+     */
+    void checkLogin(String scope, String account, HttpServletRequest request);
+
+    /**
+     * 清理空闲的本地令牌桶
+     */
+    void evictIdle();
+}
@@ -0,0 +1,19 @@
+package com.sky.service;
+
+public interface PasswordHashService {
+
+    /**
+     * 在哈希线程池中生成新密码哈希
+     */
+    String hash(String raw);
+
+    /**
+     * 在哈希线程池中校验密码
+     */
+    boolean matches(String raw, String stored);
+
+    /**
+     * 若为旧格式或工作因子过低，则在后台重新哈希并写回（仅当库中哈希未被并发修改）
+     */
+    void upgradeIfNeeded(Long userId, String raw, String stored);
+}
@@ -0,0 +1,15 @@
+package com.sky.service;
+
+import com.sky.vo.PopularBookVO;
+
+import java.util.List;
+
+public interface PopularBookService {
+
+    /**
+     * @param window week（近7天）/ month（近30天）
+     */
+    List<PopularBookVO> listPopular(String window, Integer limit);
+
+    void checkpoint();
+}
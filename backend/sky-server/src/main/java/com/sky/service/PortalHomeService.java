@@ -0,0 +1,32 @@
+package com.sky.service;
+
+public interface PortalHomeService {
+
+    /**
+     * 当前门户首页快照（已序列化的 Result JSON 与对应 ETag）
+     */
+    Snapshot getSnapshot();
+
+    /**
+     * 重新查询并替换快照
+     */
+    void rebuild();
+
+    class Snapshot {
+        private final byte[] body;
+        private final String etag;
+
+        public Snapshot(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
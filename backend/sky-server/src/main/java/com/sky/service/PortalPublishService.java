@@ -0,0 +1,23 @@
+package com.sky.service;
+
+import java.time.LocalDateTime;
+
+public interface PortalPublishService {
+
+    /**
+     * 当前对外可见内容的发布时间上限，门户查询以此代替 NOW()
+     */
+    LocalDateTime getCutoff();
+
+    /**
+     * 后台保存门户内容后调用：上限推进到当前时间，未来的发布时间加入调度队列
+     *
+     * @param publishTime 内容的发布时间，可为空
+     */
+    void schedule(LocalDateTime publishTime);
+
+    /**
+     * 从数据库加载发布时间晚于当前上限、尚未调度的内容（含其它实例刚保存的内容）
+     */
+    void reload();
+}
@@ -8,10 +8,28 @@ import java.util.List;
 
 public interface PortalService {
 
+    int DEFAULT_POST_LIMIT = 10;
+
+    int MAX_POST_LIMIT = 100;
+
     List<CarouselItemVO> listCarousel();
 
     List<PortalPostListItemVO> listPosts(Integer type, Integer limit);
 
     PortalPostDetailVO getPostDetail(Long id);
+
+    /**
+     * 列表条数的实际取值：未传取默认值，超出范围时截断到 [1, MAX_POST_LIMIT]
+     */
+    static int resolvePostLimit(Integer limit) {
+        return limit == null ? DEFAULT_POST_LIMIT : Math.min(Math.max(limit, 1), MAX_POST_LIMIT);
+    }
+
+    /**
+     * 内容类型：1 轮播 2 新闻 3 公告
+     */
+    static boolean isKnownType(Integer type) {
+        return type != null && type >= 1 && type <= 3;
+    }
 }
 
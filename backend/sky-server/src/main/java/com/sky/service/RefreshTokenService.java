@@ -0,0 +1,45 @@
+package com.sky.service;
+
+public interface RefreshTokenService {
+
+    /**
+     * 新建登录会话（刷新令牌族），返回会话id与首个刷新令牌id
+     */
+    RefreshGrant openSession(Long userId);
+
+    /**
+     * 轮换刷新令牌：出示的必须是会话当前的令牌id，成功后返回新的令牌id；
+     * 出示旧令牌视为被盗用，整个会话作废并返回 null
+     */
+    RefreshGrant rotate(String sessionId, String tokenId, Long userId);
+
+    void closeSession(String sessionId);
+
+    /**
+     * 作废某用户的全部会话（改密、冻结）
+     */
+    void closeUserSessions(Long userId);
+
+    /**
+     * 清理已过期的会话
+     */
+    void sweep();
+
+    class RefreshGrant {
+        private final String sessionId;
+        private final String tokenId;
+
+        public RefreshGrant(String sessionId, String tokenId) {
+            this.sessionId = sessionId;
+            this.tokenId = tokenId;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.sky.service;
+
+public interface RegisterFilterService {
+
+    /**
+     * 学号/工号或手机号可能已被占用时返回 true（需再查库确认）；返回 false 时两者一定未被占用
+     */
+    boolean mightBeTaken(String code, String phone);
+
+    /**
+     * 注册成功后登记新占用的学号/工号与手机号
+     */
+    void markTaken(String code, String phone);
+}
@@ -0,0 +1,18 @@
+package com.sky.service;
+
+import com.sky.vo.RelatedBookVO;
+
+import java.util.List;
+
+public interface RelatedBookService {
+
+    /**
+     * 借过这本书的读者还借了哪些书（内存索引，不访问数据库）
+     */
+    List<RelatedBookVO> listRelated(Long bookId, Integer limit);
+
+    /**
+     * 全量重建共现索引
+     */
+    void rebuild();
+}
@@ -0,0 +1,53 @@
+package com.sky.service;
+
+public interface ResourceVersionService {
+
+    /**
+     * 图书（列表、详情、分类、可借数量）
+     */
+    String BOOK = "book";
+
+    /**
+     * 门户文章（轮播、新闻、公告）
+     */
+    String PORTAL_POST = "portal-post";
+
+    /**
+     * 读者类型
+     */
+    String READER_TYPE = "reader-type";
+
+    /**
+     * 资源当前版本
+     */
+    Version current(String resource);
+
+    /**
+     * 资源发生变更：处于事务中时在提交后生效，否则立即生效
+     */
+    void bump(String resource);
+
+    class Version {
+        private final String etag;
+        private final long lastModified;
+
+        public Version(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * 弱 ETag（W/ 前缀并带双引号）
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * 最后修改时间（毫秒，已截断到秒）
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
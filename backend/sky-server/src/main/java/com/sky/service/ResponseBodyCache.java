@@ -0,0 +1,17 @@
+package com.sky.service;
+
+import com.sky.json.PreSerializedJson;
+
+import java.util.function.Supplier;
+
+public interface ResponseBodyCache {
+
+    /**
+     * 取 Result.success(loader()) 序列化后的字节；resource 的版本未变时直接复用上次的结果
+     *
+     * @param resource 资源名，取值见 {@link ResourceVersionService}
+     * @param key      同一资源下区分不同查询参数的键，为 null 时不缓存（如任意关键字搜索）
+     * @param loader   未命中时加载数据
+     */
+    PreSerializedJson get(String resource, String key, Supplier<?> loader);
+}
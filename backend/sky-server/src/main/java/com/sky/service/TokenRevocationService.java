@@ -0,0 +1,25 @@
+package com.sky.service;
+
+import io.jsonwebtoken.Claims;
+
+public interface TokenRevocationService {
+
+    /**
+     * 吊销单个令牌（登出），记录保留到令牌过期
+     */
+    void revokeToken(String namespace, Claims claims);
+
+    /**
+     * 吊销某账号在此之前签发的全部令牌（改密、冻结）
+     *
+     * @param ttlMillis 该命名空间令牌的最长有效期，过后记录自动失效
+     */
+    void revokeSubject(String namespace, Long subjectId, long ttlMillis);
+
+    boolean isRevoked(String namespace, Long subjectId, Claims claims);
+
+    /**
+     * 清理已过期的吊销记录并重建布隆过滤器
+     */
+    void sweep();
+}
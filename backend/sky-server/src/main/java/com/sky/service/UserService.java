@@ -9,6 +9,16 @@ public interface UserService {
 
     User getById(Long id);
 
+    /**
+     * 账号是否存在且未冻结（带本地缓存）
+     */
+    boolean isActive(Long userId);
+
+    /**
+     * 账号状态变更后清除缓存
+     */
+    void evictStatus(Long userId);
+
     List<BorrowedBookVO> listBorrowedByUserId(Long userId);
 }
 
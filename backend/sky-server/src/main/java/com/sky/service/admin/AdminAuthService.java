@@ -5,5 +5,7 @@ import com.sky.vo.AdminLoginResponse;
 
 public interface AdminAuthService {
     AdminLoginResponse login(AdminLoginRequest request);
+
+    void logout(String token);
 }
 
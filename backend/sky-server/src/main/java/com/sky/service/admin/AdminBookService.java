@@ -4,10 +4,18 @@ import com.sky.dto.AdminBookSaveRequest;
 import com.sky.entity.Book;
 import com.sky.result.PageResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface AdminBookService {
 
     PageResult page(String keyword, String category, Integer status, Integer page, Integer pageSize);
 
+    /**
+     * 按分页查询的条件导出全部图书，逐行写出 JSON 到 out
+     */
+    void export(String keyword, String category, Integer status, OutputStream out) throws IOException;
+
     Book getById(Long id);
 
     void create(AdminBookSaveRequest request);
@@ -4,9 +4,18 @@ import com.sky.dto.AdminBorrowCreateRequest;
 import com.sky.dto.AdminBorrowReturnRequest;
 import com.sky.result.PageResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
 public interface AdminBorrowService {
 
-    PageResult page(Integer status, String keyword, Integer page, Integer pageSize);
+    PageResult page(Integer status, String keyword, LocalDate borrowFrom, LocalDate borrowTo, Integer page, Integer pageSize);
+
+    /**
+     * 按分页查询的条件导出全部借阅记录，逐行写出 JSON 到 out
+     */
+    void export(Integer status, String keyword, LocalDate borrowFrom, LocalDate borrowTo, OutputStream out) throws IOException;
 
     void borrow(AdminBorrowCreateRequest request);
 
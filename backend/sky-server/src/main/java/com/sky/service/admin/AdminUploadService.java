@@ -0,0 +1,14 @@
+package com.sky.service.admin;
+
+import org.springframework.web.multipart.MultipartFile;
+
+public interface AdminUploadService {
+
+    /**
+     * 上传封面图片，相同内容只存储一份并返回同一地址
+     *
+     * @param file 上传的文件
+     * @return 原图访问地址
+     */
+    String uploadCover(MultipartFile file);
+}
@@ -0,0 +1,21 @@
+package com.sky.service.admin;
+
+import java.time.LocalDateTime;
+
+public interface BorrowArchiveService {
+
+    /**
+     * 执行一次归档，返回本次搬迁的记录数
+     */
+    long archive();
+
+    /**
+     * 归档表中最晚的借出时间，查询的起始日期不早于它时无需联合归档表
+     */
+    LocalDateTime getArchiveWatermark();
+
+    /**
+     * 从数据库重新读取归档水位，其它实例完成归档后本实例据此开始联合归档表
+     */
+    void refreshArchiveWatermark();
+}
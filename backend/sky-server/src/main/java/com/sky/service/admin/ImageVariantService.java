@@ -0,0 +1,23 @@
+package com.sky.service.admin;
+
+import com.sky.enumeration.ImageFormat;
+import com.sky.enumeration.ImageVariant;
+
+import java.util.List;
+
+public interface ImageVariantService {
+
+    /**
+     * 提交缩略图生成任务，立即返回；工作队列已满时转入重试列表
+     *
+     * @param objectName 原图对象名
+     * @param format     原图格式
+     * @param variants   需要生成的尺寸
+     */
+    void submit(String objectName, ImageFormat format, List<ImageVariant> variants);
+
+    /**
+     * 把到期的重试任务重新放回工作队列
+     */
+    void retryPending();
+}
@@ -0,0 +1,18 @@
+package com.sky.service.admin;
+
+import com.sky.vo.InventoryReconcileVO;
+
+public interface InventoryReconcileService {
+
+    /**
+     * 对账图书可借数量与未归还借阅数
+     *
+     * @param repair 是否修复差异，false 时只报告
+     */
+    InventoryReconcileVO reconcile(boolean repair);
+
+    /**
+     * 最近一次对账报告，尚未运行过时返回 null
+     */
+    InventoryReconcileVO getLastReport();
+}
@@ -0,0 +1,11 @@
+package com.sky.service.admin;
+
+import com.sky.vo.BookMetadataVO;
+
+public interface IsbnLookupService {
+
+    /**
+     * 按 ISBN 查询书目信息，查不到、ISBN 不合法或服务不可用时返回 null
+     */
+    BookMetadataVO lookup(String isbn);
+}
@@ -0,0 +1,35 @@
+package com.sky.service.admin;
+
+import com.sky.entity.MediaObject;
+
+import java.util.concurrent.locks.Lock;
+
+public interface MediaObjectService {
+
+    /**
+     * 同一摘要的 查找-上传-登记 与回收删除互斥，需由调用方在 finally 中释放
+     */
+    Lock lockFor(String digest);
+
+    /**
+     * 按内容摘要查找已存储的对象，命中时推迟其回收
+     *
+     * @return 对象名，不存在时返回 null
+     */
+    String lookup(String digest);
+
+    /**
+     * 登记新存储的对象（初始引用数为 0）
+     */
+    void register(MediaObject mediaObject);
+
+    /**
+     * 封面地址从 oldUrl 换成 newUrl 时调整引用数，非去重存储的地址忽略
+     */
+    void replaceReference(String oldUrl, String newUrl);
+
+    /**
+     * 回收引用数为 0 且超过保留期的对象，返回回收个数
+     */
+    int collectGarbage();
+}
@@ -2,15 +2,19 @@ package com.sky.service.admin.impl;
 
 import com.sky.constant.JwtClaimsConstant;
 import com.sky.constant.MessageConstant;
+import com.sky.datasource.DataSourceRouter;
 import com.sky.dto.AdminLoginRequest;
 import com.sky.entity.User;
 import com.sky.exception.BaseException;
 import com.sky.mapper.admin.AdminUserMapper;
 import com.sky.properties.JwtProperties;
+import com.sky.service.PasswordHashService;
+import com.sky.service.TokenRevocationService;
 import com.sky.service.admin.AdminAuthService;
 import com.sky.utils.JwtUtil;
-import com.sky.utils.PasswordUtil;
+import com.sky.utils.VerifiedTokenCache;
 import com.sky.vo.AdminLoginResponse;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +30,15 @@ public class AdminAuthServiceImpl implements AdminAuthService {
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private PasswordHashService passwordHashService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     public AdminLoginResponse login(AdminLoginRequest request) {
         if (request == null) {
@@ -37,13 +50,14 @@ public class AdminAuthServiceImpl implements AdminAuthService {
             throw new BaseException(MessageConstant.LOGIN_FAILED);
         }
 
-        User admin = adminUserMapper.getAdminByUsername(username);
+        User admin = DataSourceRouter.onPrimary(() -> adminUserMapper.getAdminByUsername(username));
         if (admin == null) {
             throw new BaseException(MessageConstant.ACCOUNT_NOT_FOUND);
         }
-        if (!PasswordUtil.matchesSha256(password, admin.getPasswordHash())) {
+        if (!passwordHashService.matches(password, admin.getPasswordHash())) {
             throw new BaseException(MessageConstant.PASSWORD_ERROR);
         }
+        passwordHashService.upgradeIfNeeded(admin.getId(), password, admin.getPasswordHash());
 
         Map<String, Object> claims = new HashMap<>();
         claims.put(JwtClaimsConstant.EMP_ID, admin.getId());
@@ -53,5 +67,20 @@ public class AdminAuthServiceImpl implements AdminAuthService {
 
         return new AdminLoginResponse(token, admin.getId(), admin.getName(), admin.getUsername());
     }
-}
 
+    @Override
+    public void logout(String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        Claims claims;
+        try {
+            claims = verifiedTokenCache.parse(JwtClaimsConstant.NS_ADMIN, jwtProperties.getAdminSecretKey(), token);
+        } catch (Exception e) {
+            // 令牌已失效，无需吊销
+            return;
+        }
+        tokenRevocationService.revokeToken(JwtClaimsConstant.NS_ADMIN, claims);
+        verifiedTokenCache.evict(JwtClaimsConstant.NS_ADMIN, token);
+    }
+}
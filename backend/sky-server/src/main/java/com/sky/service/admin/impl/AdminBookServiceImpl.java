@@ -1,29 +1,62 @@
 package com.sky.service.admin.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sky.context.AdminContext;
 import com.sky.dto.AdminBookSaveRequest;
 import com.sky.entity.Book;
+import com.sky.event.PortalContentChangedEvent;
 import com.sky.exception.BaseException;
+import com.sky.json.JacksonObjectMapper;
+import com.sky.json.StreamingResultWriter;
 import com.sky.mapper.admin.AdminBookMapper;
 import com.sky.mapper.admin.AdminBorrowRecordMapper;
 import com.sky.result.PageResult;
+import com.sky.service.ResourceVersionService;
 import com.sky.service.admin.AdminBookService;
+import com.sky.service.admin.IsbnLookupService;
+import com.sky.service.admin.MediaObjectService;
+import com.sky.vo.BookMetadataVO;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 
 @Service
+@Slf4j
 public class AdminBookServiceImpl implements AdminBookService {
 
+    private final ObjectMapper objectMapper = new JacksonObjectMapper();
+
     @Autowired
     private AdminBookMapper adminBookMapper;
 
     @Autowired
     private AdminBorrowRecordMapper adminBorrowRecordMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private MediaObjectService mediaObjectService;
+
+    @Autowired
+    private IsbnLookupService isbnLookupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
+    @Transactional(readOnly = true)
     public PageResult page(String keyword, String category, Integer status, Integer page, Integer pageSize) {
         int p = page == null || page < 1 ? 1 : page;
         int ps = pageSize == null || pageSize < 1 ? 10 : Math.min(pageSize, 100);
@@ -34,6 +67,15 @@ public class AdminBookServiceImpl implements AdminBookService {
         return new PageResult(total, records);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void export(String keyword, String category, Integer status, OutputStream out) throws IOException {
+        StreamingResultWriter writer = new StreamingResultWriter(objectMapper, out);
+        adminBookMapper.streamList(keyword, category, status, ctx -> writer.writeUnchecked(ctx.getResultObject()));
+        writer.finish();
+        log.info("导出图书{}条", writer.getCount());
+    }
+
     @Override
     public Book getById(Long id) {
         if (id == null) {
@@ -51,8 +93,20 @@ public class AdminBookServiceImpl implements AdminBookService {
         if (request == null) {
             throw new BaseException("参数错误");
         }
-        String title = request.getTitle() == null ? null : request.getTitle().trim();
-        if (title == null || title.isEmpty()) {
+        String title = trimOrNull(request.getTitle());
+        String author = trimOrNull(request.getAuthor());
+        String publisher = trimOrNull(request.getPublisher());
+        String isbn = trimOrNull(request.getIsbn());
+        // 缺书名、作者或出版社时按 ISBN 补全；远程查询放在事务之外，不占用数据库连接
+        if (isbn != null && (title == null || author == null || publisher == null)) {
+            BookMetadataVO metadata = isbnLookupService.lookup(isbn);
+            if (metadata != null) {
+                title = title == null ? metadata.getTitle() : title;
+                author = author == null ? metadata.getAuthor() : author;
+                publisher = publisher == null ? metadata.getPublisher() : publisher;
+            }
+        }
+        if (title == null) {
             throw new BaseException("书名不能为空");
         }
         int totalQty = request.getTotalQty() == null ? 0 : request.getTotalQty();
@@ -64,9 +118,9 @@ public class AdminBookServiceImpl implements AdminBookService {
         Book book = new Book();
         book.setCoverUrl(trimOrNull(request.getCoverUrl()));
         book.setTitle(title);
-        book.setAuthor(trimOrNull(request.getAuthor()));
-        book.setPublisher(trimOrNull(request.getPublisher()));
-        book.setIsbn(trimOrNull(request.getIsbn()));
+        book.setAuthor(author);
+        book.setPublisher(publisher);
+        book.setIsbn(isbn);
         book.setCategory(trimOrNull(request.getCategory()));
         book.setLocation(trimOrNull(request.getLocation()));
         book.setDescription(request.getDescription());
@@ -75,14 +129,21 @@ public class AdminBookServiceImpl implements AdminBookService {
         book.setStatus(request.getStatus() == null ? 1 : request.getStatus());
         book.setCreateUser(adminId);
         book.setUpdateUser(adminId);
-
-        int inserted = adminBookMapper.insert(book);
-        if (inserted != 1) {
-            throw new BaseException("新增失败");
-        }
+        checkLengths(book);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int inserted = adminBookMapper.insert(book);
+            if (inserted != 1) {
+                throw new BaseException("新增失败");
+            }
+            mediaObjectService.replaceReference(null, book.getCoverUrl());
+            resourceVersionService.bump(ResourceVersionService.BOOK);
+            eventPublisher.publishEvent(new PortalContentChangedEvent("book"));
+        });
     }
 
     @Override
+    @Transactional
     public void update(Long id, AdminBookSaveRequest request) {
         if (id == null) {
             throw new BaseException("缺少ID");
@@ -121,14 +182,19 @@ public class AdminBookServiceImpl implements AdminBookService {
         book.setAvailableQty(finalAvailableQty);
         book.setStatus(request.getStatus() == null ? existing.getStatus() : request.getStatus());
         book.setUpdateUser(adminId);
+        checkLengths(book);
 
         int updated = adminBookMapper.update(book);
         if (updated != 1) {
             throw new BaseException("更新失败");
         }
+        mediaObjectService.replaceReference(existing.getCoverUrl(), book.getCoverUrl());
+        resourceVersionService.bump(ResourceVersionService.BOOK);
+        eventPublisher.publishEvent(new PortalContentChangedEvent("book"));
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         if (id == null) {
             throw new BaseException("缺少ID");
@@ -138,11 +204,36 @@ public class AdminBookServiceImpl implements AdminBookService {
             throw new BaseException("该图书存在未归还借阅记录，无法删除");
         }
 
+        Book existing = adminBookMapper.getById(id);
         Long adminId = AdminContext.getCurrentId();
         int updated = adminBookMapper.softDelete(id, adminId);
         if (updated != 1) {
             throw new BaseException("删除失败");
         }
+        if (existing != null) {
+            mediaObjectService.replaceReference(existing.getCoverUrl(), null);
+        }
+        resourceVersionService.bump(ResourceVersionService.BOOK);
+        eventPublisher.publishEvent(new PortalContentChangedEvent("book"));
+    }
+
+    /**
+     * 超长时提示具体字段，避免落库时报 Data too long
+     */
+    private static void checkLengths(Book book) {
+        checkLength(book.getTitle(), AdminBookSaveRequest.TITLE_MAX_LENGTH, "书名");
+        checkLength(book.getAuthor(), AdminBookSaveRequest.AUTHOR_MAX_LENGTH, "作者");
+        checkLength(book.getPublisher(), AdminBookSaveRequest.PUBLISHER_MAX_LENGTH, "出版社");
+        checkLength(book.getIsbn(), AdminBookSaveRequest.ISBN_MAX_LENGTH, "ISBN");
+        checkLength(book.getCategory(), AdminBookSaveRequest.CATEGORY_MAX_LENGTH, "分类");
+        checkLength(book.getLocation(), AdminBookSaveRequest.LOCATION_MAX_LENGTH, "馆藏位置");
+        checkLength(book.getCoverUrl(), AdminBookSaveRequest.COVER_URL_MAX_LENGTH, "封面地址");
+    }
+
+    private static void checkLength(String value, int maxLength, String label) {
+        if (value != null && value.length() > maxLength) {
+            throw new BaseException(label + "不能超过" + maxLength + "个字符");
+        }
     }
 
     private static String trimOrNull(String value) {
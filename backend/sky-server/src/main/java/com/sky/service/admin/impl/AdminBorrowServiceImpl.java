@@ -1,30 +1,46 @@
 package com.sky.service.admin.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sky.context.AdminContext;
 import com.sky.dto.AdminBorrowCreateRequest;
 import com.sky.dto.AdminBorrowReturnRequest;
 import com.sky.entity.Book;
 import com.sky.entity.ReaderType;
 import com.sky.entity.User;
+import com.sky.event.BookBorrowedEvent;
 import com.sky.exception.BaseException;
+import com.sky.json.JacksonObjectMapper;
+import com.sky.json.StreamingResultWriter;
 import com.sky.mapper.BookMapper;
 import com.sky.mapper.BorrowRecordMapper;
 import com.sky.mapper.ReaderTypeMapper;
 import com.sky.mapper.UserMapper;
 import com.sky.mapper.admin.AdminBorrowRecordMapper;
 import com.sky.result.PageResult;
+import com.sky.service.CirculationStatService;
+import com.sky.service.ResourceVersionService;
 import com.sky.service.admin.AdminBorrowService;
+import com.sky.service.admin.BorrowArchiveService;
 import com.sky.vo.AdminBorrowRecordVO;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 @Service
+@Slf4j
 public class AdminBorrowServiceImpl implements AdminBorrowService {
 
+    private final ObjectMapper objectMapper = new JacksonObjectMapper();
+
     @Autowired
     private AdminBorrowRecordMapper adminBorrowRecordMapper;
 
@@ -40,18 +56,61 @@ public class AdminBorrowServiceImpl implements AdminBorrowService {
     @Autowired
     private BorrowRecordMapper borrowRecordMapper;
 
+    @Autowired
+    private CirculationStatService circulationStatService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private BorrowArchiveService borrowArchiveService;
+
     @Override
-    public PageResult page(Integer status, String keyword, Integer page, Integer pageSize) {
+    @Transactional(readOnly = true)
+    public PageResult page(Integer status, String keyword, LocalDate borrowFrom, LocalDate borrowTo, Integer page, Integer pageSize) {
         int p = page == null || page < 1 ? 1 : page;
         int ps = pageSize == null || pageSize < 1 ? 10 : Math.min(pageSize, 100);
         int offset = (p - 1) * ps;
 
-        long total = adminBorrowRecordMapper.count(status, keyword);
-        List<AdminBorrowRecordVO> records =
-                total == 0 ? Collections.emptyList() : adminBorrowRecordMapper.list(status, keyword, offset, ps);
+        LocalDateTime from = borrowFrom == null ? null : borrowFrom.atStartOfDay();
+        LocalDateTime to = borrowTo == null ? null : borrowTo.plusDays(1).atStartOfDay();
+        boolean includeArchive = shouldIncludeArchive(status, from);
+
+        long total = adminBorrowRecordMapper.count(status, keyword, from, to, includeArchive);
+        List<AdminBorrowRecordVO> records = total == 0
+                ? Collections.emptyList()
+                : adminBorrowRecordMapper.list(status, keyword, from, to, includeArchive, offset, ps);
         return new PageResult(total, records);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Integer status, String keyword, LocalDate borrowFrom, LocalDate borrowTo, OutputStream out) throws IOException {
+        LocalDateTime from = borrowFrom == null ? null : borrowFrom.atStartOfDay();
+        LocalDateTime to = borrowTo == null ? null : borrowTo.plusDays(1).atStartOfDay();
+        boolean includeArchive = shouldIncludeArchive(status, from);
+
+        StreamingResultWriter writer = new StreamingResultWriter(objectMapper, out);
+        adminBorrowRecordMapper.streamList(status, keyword, from, to, includeArchive,
+                ctx -> writer.writeUnchecked(ctx.getResultObject()));
+        writer.finish();
+        log.info("导出借阅记录{}条", writer.getCount());
+    }
+
+    /**
+     * 归档表只有已归还的记录；仅当按已归还/全部状态查询，且未指定起始日期或起始日期早于归档水位时才联合归档表
+     */
+    private boolean shouldIncludeArchive(Integer status, LocalDateTime from) {
+        if (status != null && status != 1) {
+            return false;
+        }
+        LocalDateTime watermark = borrowArchiveService.getArchiveWatermark();
+        return watermark != null && (from == null || !from.isAfter(watermark));
+    }
+
     @Override
     @Transactional
     public void borrow(AdminBorrowCreateRequest request) {
@@ -99,6 +158,9 @@ public class AdminBorrowServiceImpl implements AdminBorrowService {
         if (inserted != 1) {
             throw new BaseException("借出失败");
         }
+        circulationStatService.recordBorrow(book, readerType.getId());
+        resourceVersionService.bump(ResourceVersionService.BOOK);
+        eventPublisher.publishEvent(new BookBorrowedEvent(user.getId(), book));
     }
 
     @Override
@@ -120,5 +182,7 @@ public class AdminBorrowServiceImpl implements AdminBorrowService {
         }
 
         bookMapper.incrementAvailableQty(bookId);
+        circulationStatService.recordReturn(request.getRecordId());
+        resourceVersionService.bump(ResourceVersionService.BOOK);
     }
 }
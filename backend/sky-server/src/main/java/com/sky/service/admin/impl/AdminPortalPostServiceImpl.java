@@ -3,14 +3,21 @@ package com.sky.service.admin.impl;
 import com.sky.context.AdminContext;
 import com.sky.dto.AdminPortalPostSaveRequest;
 import com.sky.entity.PortalPost;
+import com.sky.event.PortalContentChangedEvent;
 import com.sky.exception.BaseException;
 import com.sky.mapper.admin.AdminPortalPostMapper;
 import com.sky.result.PageResult;
+import com.sky.service.PortalPublishService;
+import com.sky.service.ResourceVersionService;
 import com.sky.service.admin.AdminPortalPostService;
+import com.sky.service.admin.MediaObjectService;
 import com.sky.vo.AdminPortalPostListItemVO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -20,7 +27,20 @@ public class AdminPortalPostServiceImpl implements AdminPortalPostService {
     @Autowired
     private AdminPortalPostMapper adminPortalPostMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private MediaObjectService mediaObjectService;
+
+    @Autowired
+    private PortalPublishService portalPublishService;
+
     @Override
+    @Transactional(readOnly = true)
     public PageResult page(Integer type, Integer status, String keyword, Integer page, Integer pageSize) {
         int p = page == null || page < 1 ? 1 : page;
         int ps = pageSize == null || pageSize < 1 ? 10 : Math.min(pageSize, 100);
@@ -45,6 +65,7 @@ public class AdminPortalPostServiceImpl implements AdminPortalPostService {
     }
 
     @Override
+    @Transactional
     public void create(AdminPortalPostSaveRequest request) {
         if (request == null) {
             throw new BaseException("参数错误");
@@ -67,7 +88,9 @@ public class AdminPortalPostServiceImpl implements AdminPortalPostService {
         post.setCoverUrl(trimOrNull(request.getCoverUrl()));
         post.setAccent(trimOrNull(request.getAccent()));
         post.setSort(request.getSort() == null ? 0 : request.getSort());
-        post.setPublishTime(request.getPublishTime());
+        // 未指定发布时间时取应用时钟，与发布调度的可见上限保持同一时间基准
+        post.setPublishTime(request.getPublishTime() == null
+                ? LocalDateTime.now().withNano(0) : request.getPublishTime());
         post.setStatus(request.getStatus() == null ? 1 : request.getStatus());
         post.setCreateUser(adminId);
         post.setUpdateUser(adminId);
@@ -76,9 +99,14 @@ public class AdminPortalPostServiceImpl implements AdminPortalPostService {
         if (inserted != 1) {
             throw new BaseException("新增失败");
         }
+        mediaObjectService.replaceReference(null, post.getCoverUrl());
+        portalPublishService.schedule(post.getPublishTime());
+        resourceVersionService.bump(ResourceVersionService.PORTAL_POST);
+        eventPublisher.publishEvent(new PortalContentChangedEvent("portal-post"));
     }
 
     @Override
+    @Transactional
     public void update(Long id, AdminPortalPostSaveRequest request) {
         if (id == null) {
             throw new BaseException("缺少ID");
@@ -110,18 +138,29 @@ public class AdminPortalPostServiceImpl implements AdminPortalPostService {
         if (updated != 1) {
             throw new BaseException("更新失败");
         }
+        mediaObjectService.replaceReference(existing.getCoverUrl(), post.getCoverUrl());
+        portalPublishService.schedule(post.getPublishTime());
+        resourceVersionService.bump(ResourceVersionService.PORTAL_POST);
+        eventPublisher.publishEvent(new PortalContentChangedEvent("portal-post"));
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         if (id == null) {
             throw new BaseException("缺少ID");
         }
+        PortalPost existing = adminPortalPostMapper.getById(id);
         Long adminId = AdminContext.getCurrentId();
         int updated = adminPortalPostMapper.softDelete(id, adminId);
         if (updated != 1) {
             throw new BaseException("删除失败");
         }
+        if (existing != null) {
+            mediaObjectService.replaceReference(existing.getCoverUrl(), null);
+        }
+        resourceVersionService.bump(ResourceVersionService.PORTAL_POST);
+        eventPublisher.publishEvent(new PortalContentChangedEvent("portal-post"));
     }
 
     private static String trimOrNull(String value) {
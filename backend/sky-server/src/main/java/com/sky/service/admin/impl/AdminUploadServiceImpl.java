@@ -0,0 +1,98 @@
+package com.sky.service.admin.impl;
+
+import com.sky.entity.MediaObject;
+import com.sky.enumeration.ImageFormat;
+import com.sky.enumeration.ImageVariant;
+import com.sky.exception.BaseException;
+import com.sky.service.admin.AdminUploadService;
+import com.sky.service.admin.ImageVariantService;
+import com.sky.service.admin.MediaObjectService;
+import com.sky.storage.ObjectStorage;
+import com.sky.utils.UploadInspector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 封面上传：先对 multipart 临时文件做一遍流式读取，同时识别格式、计算 SHA-256；
+ * 摘要已存在时直接返回已有地址，不再上传，否则再从临时文件流式写入存储。
+ * 对象按摘要命名，所有尺寸的缩略图在上传返回后异步生成。整个过程不把文件读进堆内存。
+ */
+@Service
+@Slf4j
+public class AdminUploadServiceImpl implements AdminUploadService {
+
+    private static final long MAX_BYTES = 5L * 1024 * 1024;
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaObjectService mediaObjectService;
+
+    @Override
+    public String uploadCover(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BaseException("请选择图片文件");
+        }
+        if (file.getSize() > MAX_BYTES) {
+            throw new BaseException("图片过大，请选择 5MB 以内的文件");
+        }
+
+        ImageFormat format;
+        String digest;
+        try (InputStream in = file.getInputStream()) {
+            UploadInspector inspector = new UploadInspector(in);
+            format = inspector.getFormat();
+            if (format == null) {
+                throw new BaseException("仅支持 JPG、PNG、GIF、WebP 格式的图片");
+            }
+            inspector.drain();
+            digest = inspector.sha256Hex();
+        } catch (IOException e) {
+            log.error("读取上传文件失败", e);
+            throw new BaseException("读取上传文件失败");
+        }
+
+        // 查找、上传、登记持有摘要锁，与回收删除互斥
+        Lock lock = mediaObjectService.lockFor(digest);
+        lock.lock();
+        String objectName;
+        String url;
+        try {
+            String existing = mediaObjectService.lookup(digest);
+            if (existing != null) {
+                log.info("封面内容已存在，跳过上传：object={}", existing);
+                return objectStorage.urlOf(existing);
+            }
+
+            objectName = "covers/" + digest.substring(0, 2) + "/" + digest + format.getExtension();
+            try (InputStream in = file.getInputStream()) {
+                url = objectStorage.put(objectName, in, file.getSize(), format.getMimeType());
+            } catch (IOException e) {
+                log.error("读取上传文件失败", e);
+                throw new BaseException("读取上传文件失败");
+            }
+
+            MediaObject mediaObject = new MediaObject();
+            mediaObject.setDigest(digest);
+            mediaObject.setObjectName(objectName);
+            mediaObject.setContentType(format.getMimeType());
+            mediaObject.setSize(file.getSize());
+            mediaObjectService.register(mediaObject);
+        } finally {
+            lock.unlock();
+        }
+        imageVariantService.submit(objectName, format, Arrays.asList(ImageVariant.values()));
+        return url;
+    }
+}
@@ -1,14 +1,20 @@
 package com.sky.service.admin.impl;
 
+import com.sky.constant.JwtClaimsConstant;
 import com.sky.context.AdminContext;
 import com.sky.exception.BaseException;
 import com.sky.mapper.admin.AdminUserMapper;
+import com.sky.properties.JwtProperties;
 import com.sky.result.PageResult;
+import com.sky.service.PasswordHashService;
+import com.sky.service.RefreshTokenService;
+import com.sky.service.TokenRevocationService;
+import com.sky.service.UserService;
 import com.sky.service.admin.AdminUserService;
-import com.sky.utils.PasswordUtil;
 import com.sky.vo.AdminReaderVO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -21,7 +27,23 @@ public class AdminUserServiceImpl implements AdminUserService {
     @Autowired
     private AdminUserMapper adminUserMapper;
 
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PasswordHashService passwordHashService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @Override
+    @Transactional(readOnly = true)
     public PageResult pageReaders(String keyword, Integer status, Integer page, Integer pageSize) {
         int p = page == null || page < 1 ? 1 : page;
         int ps = pageSize == null || pageSize < 1 ? 10 : Math.min(pageSize, 100);
@@ -38,10 +60,12 @@ public class AdminUserServiceImpl implements AdminUserService {
             throw new BaseException("缺少用户ID");
         }
         Long adminId = AdminContext.getCurrentId();
-        int updated = adminUserMapper.updatePasswordHash(id, PasswordUtil.sha256Hex(DEFAULT_PASSWORD), adminId);
+        int updated = adminUserMapper.updatePasswordHash(id, passwordHashService.hash(DEFAULT_PASSWORD), adminId);
         if (updated != 1) {
             throw new BaseException("重置失败");
         }
+        tokenRevocationService.revokeSubject(JwtClaimsConstant.NS_USER, id, jwtProperties.getUserTtl());
+        refreshTokenService.closeUserSessions(id);
     }
 
     @Override
@@ -57,5 +81,11 @@ public class AdminUserServiceImpl implements AdminUserService {
         if (updated != 1) {
             throw new BaseException("更新失败");
         }
+        userService.evictStatus(id);
+        if (status == 0) {
+            // 冻结后已签发的令牌立即失效
+            tokenRevocationService.revokeSubject(JwtClaimsConstant.NS_USER, id, jwtProperties.getUserTtl());
+            refreshTokenService.closeUserSessions(id);
+        }
     }
 }
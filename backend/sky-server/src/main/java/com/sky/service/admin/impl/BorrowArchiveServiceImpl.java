@@ -0,0 +1,119 @@
+package com.sky.service.admin.impl;
+
+import com.sky.exception.BaseException;
+import com.sky.mapper.admin.BorrowRecordArchiveMapper;
+import com.sky.properties.BorrowArchiveProperties;
+import com.sky.service.admin.BorrowArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 借阅记录冷热分离：按主键顺序小批量把已归还较久/已软删除的记录搬到归档表，
+ * 每批一个短事务（复制+删除），批间暂停以限制对线上借还的影响
+ */
+@Service
+@Slf4j
+public class BorrowArchiveServiceImpl implements BorrowArchiveService {
+
+    @Autowired
+    private BorrowRecordArchiveMapper borrowRecordArchiveMapper;
+
+    @Autowired
+    private BorrowArchiveProperties borrowArchiveProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile LocalDateTime watermark;
+    private volatile boolean watermarkLoaded;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public long archive() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BaseException("归档任务正在执行");
+        }
+        try {
+            int chunkSize = Math.max(1, borrowArchiveProperties.getChunkSize());
+            int maxChunks = borrowArchiveProperties.getMaxChunksPerRun();
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(borrowArchiveProperties.getHorizonDays());
+
+            long moved = 0;
+            int chunks = 0;
+            long afterId = 0;
+            long start = System.currentTimeMillis();
+            while (maxChunks <= 0 || chunks < maxChunks) {
+                List<Long> ids = borrowRecordArchiveMapper.listArchivableIds(afterId, cutoff, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                Integer count = transactionTemplate.execute(status -> moveChunk(ids, cutoff));
+                moved += count == null ? 0 : count;
+                chunks++;
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                pause();
+            }
+            refreshArchiveWatermark();
+            log.info("借阅记录归档完成：cutoff={}, 批次={}, 搬迁{}条, 耗时{}ms",
+                    cutoff, chunks, moved, System.currentTimeMillis() - start);
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int moveChunk(List<Long> ids, LocalDateTime cutoff) {
+        int copied = borrowRecordArchiveMapper.copyToArchive(ids, cutoff);
+        int deleted = borrowRecordArchiveMapper.deleteArchived(ids, cutoff);
+        if (copied != deleted) {
+            // 批内记录在复制与删除之间发生变化，整批回滚，下次再处理
+            throw new IllegalStateException("归档批次不一致：copied=" + copied + ", deleted=" + deleted);
+        }
+        return deleted;
+    }
+
+    private void pause() {
+        long pauseMs = borrowArchiveProperties.getPauseMs();
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public LocalDateTime getArchiveWatermark() {
+        if (!watermarkLoaded) {
+            refreshArchiveWatermark();
+        }
+        return watermark;
+    }
+
+    @Override
+    public void refreshArchiveWatermark() {
+        watermark = borrowRecordArchiveMapper.getMaxArchivedBorrowAt();
+        watermarkLoaded = true;
+    }
+}
@@ -0,0 +1,186 @@
+package com.sky.service.admin.impl;
+
+import com.sky.enumeration.ImageFormat;
+import com.sky.enumeration.ImageVariant;
+import com.sky.properties.ImageVariantProperties;
+import com.sky.service.admin.ImageVariantService;
+import com.sky.storage.ObjectStorage;
+import com.sky.utils.ImageResizeUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 封面缩略图异步生成：固定线程数、有界队列的线程池，上传请求只负责提交任务。
+ * 队列满或生成失败的任务进入重试列表，按指数退避由定时任务重新提交，超过最大次数后放弃，
+ * 前端在缩略图不存在时回退到原图。
+ */
+@Service
+@Slf4j
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    @Autowired
+    private ImageVariantProperties imageVariantProperties;
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    private ThreadPoolExecutor executor;
+
+    private final ConcurrentLinkedQueue<Job> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingSize = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, imageVariantProperties.getThreads());
+        AtomicInteger threadNo = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, imageVariantProperties.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "image-variant-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void submit(String objectName, ImageFormat format, List<ImageVariant> variants) {
+        if (!imageVariantProperties.isEnabled() || variants == null || variants.isEmpty()) {
+            return;
+        }
+        if (format == null || format.getImageIoName() == null) {
+            log.info("图片格式不支持生成缩略图，跳过：{}", objectName);
+            return;
+        }
+        enqueue(new Job(objectName, format, new ArrayList<>(variants)));
+    }
+
+    @Override
+    public void retryPending() {
+        long now = System.currentTimeMillis();
+        Iterator<Job> it = pending.iterator();
+        while (it.hasNext()) {
+            Job job = it.next();
+            if (job.notBefore > now) {
+                continue;
+            }
+            it.remove();
+            pendingSize.decrementAndGet();
+            if (!tryExecute(job)) {
+                // 工作队列仍满，剩余任务留到下一轮
+                defer(job, 0);
+                return;
+            }
+        }
+    }
+
+    private void enqueue(Job job) {
+        if (!tryExecute(job)) {
+            log.warn("缩略图队列已满，延后处理：{}", job.objectName);
+            defer(job, imageVariantProperties.getRetryDelayMs());
+        }
+    }
+
+    private boolean tryExecute(Job job) {
+        try {
+            executor.execute(() -> run(job));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void defer(Job job, long delayMs) {
+        if (pendingSize.incrementAndGet() > imageVariantProperties.getMaxPending()) {
+            pendingSize.decrementAndGet();
+            log.error("缩略图重试列表已满，放弃：{}", job.objectName);
+            return;
+        }
+        job.notBefore = System.currentTimeMillis() + delayMs;
+        pending.add(job);
+    }
+
+    private void run(Job job) {
+        job.attempts++;
+        try {
+            generate(job);
+            log.info("缩略图生成完成：{} {}", job.objectName, job.variants);
+        } catch (Exception e) {
+            if (job.attempts >= imageVariantProperties.getMaxAttempts()) {
+                log.error("缩略图生成失败，已放弃：{}（第{}次）", job.objectName, job.attempts, e);
+                return;
+            }
+            long delay = imageVariantProperties.getRetryDelayMs() << (job.attempts - 1);
+            log.warn("缩略图生成失败，{}ms 后重试：{}（第{}次）", delay, job.objectName, job.attempts, e);
+            defer(job, delay);
+        }
+    }
+
+    private void generate(Job job) throws Exception {
+        int maxWidth = 0;
+        for (ImageVariant variant : job.variants) {
+            maxWidth = Math.max(maxWidth, widthOf(variant));
+        }
+        BufferedImage source;
+        try (InputStream in = objectStorage.open(job.objectName)) {
+            source = ImageResizeUtil.read(in, maxWidth);
+        }
+        if (source == null) {
+            throw new IllegalStateException("无法解码图片");
+        }
+        boolean keepAlpha = job.format != ImageFormat.JPEG;
+        for (ImageVariant variant : job.variants) {
+            BufferedImage resized = ImageResizeUtil.resizeToWidth(source, widthOf(variant), keepAlpha);
+            byte[] bytes = ImageResizeUtil.write(resized, job.format.getImageIoName(), imageVariantProperties.getJpegQuality());
+            objectStorage.put(variant.objectName(job.objectName), new ByteArrayInputStream(bytes),
+                    bytes.length, job.format.getMimeType());
+        }
+    }
+
+    private int widthOf(ImageVariant variant) {
+        switch (variant) {
+            case GRID:
+                return imageVariantProperties.getGridWidth();
+            case DETAIL:
+                return imageVariantProperties.getDetailWidth();
+            default:
+                return imageVariantProperties.getCarouselWidth();
+        }
+    }
+
+    private static class Job {
+        private final String objectName;
+        private final ImageFormat format;
+        private final List<ImageVariant> variants;
+        private int attempts;
+        private volatile long notBefore;
+
+        Job(String objectName, ImageFormat format, List<ImageVariant> variants) {
+            this.objectName = objectName;
+            this.format = format;
+            this.variants = variants;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.sky.service.admin.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.dto.AdminBookSaveRequest;
+import com.sky.properties.IsbnLookupProperties;
+import com.sky.service.admin.IsbnLookupService;
+import com.sky.utils.HttpClientUtil;
+import com.sky.vo.BookMetadataVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * ISBN 书目补全：通过共享连接池调用 Open Library Books API。
+ * 结果（包括查不到）按 ISBN 缓存；同一 ISBN 的并发查询合并为一次请求，其余调用方等待同一结果。
+ */
+@Service
+@Slf4j
+public class IsbnLookupServiceImpl implements IsbnLookupService {
+
+    private static final Pattern ISBN = Pattern.compile("\\d{9}[\\dX]|\\d{13}");
+
+    @Autowired
+    private IsbnLookupProperties isbnLookupProperties;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<BookMetadataVO>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        HttpClientUtil.setMaxPerRoute(isbnLookupProperties.getBaseUrl(), isbnLookupProperties.getMaxConnections());
+    }
+
+    @Override
+    public BookMetadataVO lookup(String isbn) {
+        String normalized = normalize(isbn);
+        if (!isbnLookupProperties.isEnabled() || normalized == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        CacheEntry cached = cache.get(normalized);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.metadata;
+        }
+
+        CompletableFuture<BookMetadataVO> mine = new CompletableFuture<>();
+        CompletableFuture<BookMetadataVO> running = inFlight.putIfAbsent(normalized, mine);
+        if (running != null) {
+            try {
+                return running.get(isbnLookupProperties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        BookMetadataVO metadata = null;
+        try {
+            metadata = fetch(normalized);
+            long ttl = metadata != null
+                    ? isbnLookupProperties.getCacheTtlMinutes()
+                    : isbnLookupProperties.getNegativeCacheTtlMinutes();
+            if (cache.size() >= isbnLookupProperties.getCacheSize()) {
+                cache.clear();
+            }
+            cache.put(normalized, new CacheEntry(metadata, now + TimeUnit.MINUTES.toMillis(ttl)));
+            return metadata;
+        } finally {
+            inFlight.remove(normalized, mine);
+            mine.complete(metadata);
+        }
+    }
+
+    private BookMetadataVO fetch(String isbn) {
+        String key = "ISBN:" + isbn;
+        String body = HttpClientUtil.doGet(isbnLookupProperties.getBaseUrl() + "/api/books",
+                params(key),
+                isbnLookupProperties.getTimeoutMs());
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonNode book = objectMapper.readTree(body).path(key);
+            String title = truncate(text(book.path("title")), AdminBookSaveRequest.TITLE_MAX_LENGTH);
+            if (title == null) {
+                return null;
+            }
+            return new BookMetadataVO(isbn, title,
+                    joinNames(book.path("authors"), AdminBookSaveRequest.AUTHOR_MAX_LENGTH),
+                    joinNames(book.path("publishers"), AdminBookSaveRequest.PUBLISHER_MAX_LENGTH));
+        } catch (Exception e) {
+            log.warn("书目服务响应无法解析：isbn={}", isbn, e);
+            return null;
+        }
+    }
+
+    private static Map<String, String> params(String bibkey) {
+        Map<String, String> params = new HashMap<>();
+        params.put("bibkeys", bibkey);
+        params.put("format", "json");
+        params.put("jscmd", "data");
+        return params;
+    }
+
+    /**
+     * 用顿号拼接名称，放不下的名称整体省略并以“等”结尾，结果不超过 maxLength
+     */
+    private static String joinNames(JsonNode array, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        boolean omitted = false;
+        for (JsonNode item : array) {
+            String name = text(item.path("name"));
+            if (name == null) {
+                continue;
+            }
+            int added = (sb.length() > 0 ? 1 : 0) + name.length();
+            // 预留一个字符给“等”
+            if (sb.length() + added > maxLength - 1) {
+                omitted = true;
+                break;
+            }
+            if (sb.length() > 0) {
+                sb.append("、");
+            }
+            sb.append(name);
+        }
+        if (sb.length() == 0) {
+            return omitted ? truncate(text(array.path(0).path("name")), maxLength) : null;
+        }
+        return omitted ? sb.append("等").toString() : sb.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static String text(JsonNode node) {
+        String value = node.isTextual() ? node.asText().trim() : null;
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 去掉连字符和空格，ISBN-10 的校验位统一为大写 X
+     */
+    private static String normalize(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        String s = isbn.replace("-", "").replace(" ", "").toUpperCase();
+        return ISBN.matcher(s).matches() ? s : null;
+    }
+
+    private static class CacheEntry {
+        private final BookMetadataVO metadata;
+        private final long expiresAt;
+
+        CacheEntry(BookMetadataVO metadata, long expiresAt) {
+            this.metadata = metadata;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
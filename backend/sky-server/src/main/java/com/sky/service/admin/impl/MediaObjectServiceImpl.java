@@ -0,0 +1,175 @@
+package com.sky.service.admin.impl;
+
+import com.sky.entity.MediaObject;
+import com.sky.enumeration.ImageVariant;
+import com.sky.mapper.admin.MediaObjectMapper;
+import com.sky.properties.MediaObjectProperties;
+import com.sky.service.admin.MediaObjectService;
+import com.sky.storage.ObjectStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按内容摘要去重的媒体对象：相同内容只存一份、返回同一地址，
+ * 图书与门户内容保存封面时维护引用计数，引用归零且超过保留期的对象由定时任务回收。
+ * <p>
+ * 本地摘要索引只缓存“摘要 -> 对象名”，命中时仍以一次主键更新刷新回收时间并确认记录存在。
+ */
+@Service
+@Slf4j
+public class MediaObjectServiceImpl implements MediaObjectService {
+
+    /**
+     * 去重存储的对象名：covers/摘要前两位/摘要.扩展名
+     */
+    private static final Pattern DIGEST_IN_URL = Pattern.compile("/covers/[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z]+$");
+
+    @Autowired
+    private MediaObjectMapper mediaObjectMapper;
+
+    @Autowired
+    private MediaObjectProperties mediaObjectProperties;
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<String, String> index = new ConcurrentHashMap<>();
+
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    public MediaObjectServiceImpl() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Lock lockFor(String digest) {
+        return locks[(digest.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    @Override
+    public String lookup(String digest) {
+        String objectName = index.get(digest);
+        if (objectName != null) {
+            if (mediaObjectMapper.touch(digest) > 0) {
+                return objectName;
+            }
+            index.remove(digest);
+            return null;
+        }
+        MediaObject existing = mediaObjectMapper.getByDigest(digest);
+        if (existing == null || mediaObjectMapper.touch(digest) == 0) {
+            return null;
+        }
+        remember(digest, existing.getObjectName());
+        return existing.getObjectName();
+    }
+
+    @Override
+    public void register(MediaObject mediaObject) {
+        mediaObjectMapper.insertIgnore(mediaObject);
+        remember(mediaObject.getDigest(), mediaObject.getObjectName());
+    }
+
+    @Override
+    public void replaceReference(String oldUrl, String newUrl) {
+        if (Objects.equals(oldUrl, newUrl)) {
+            return;
+        }
+        String added = digestOf(newUrl);
+        if (added != null) {
+            mediaObjectMapper.adjustRefCount(added, 1);
+        }
+        String removed = digestOf(oldUrl);
+        if (removed != null) {
+            mediaObjectMapper.adjustRefCount(removed, -1);
+        }
+    }
+
+    @Override
+    public int collectGarbage() {
+        LocalDateTime before = LocalDateTime.now().minusHours(mediaObjectProperties.getGcGraceHours());
+        int batchSize = Math.max(1, mediaObjectProperties.getGcBatchSize());
+        int collected = 0;
+        List<MediaObject> batch;
+        do {
+            batch = mediaObjectMapper.listGarbage(before, batchSize);
+            for (MediaObject candidate : batch) {
+                if (collect(candidate, before)) {
+                    collected++;
+                }
+            }
+        } while (batch.size() == batchSize);
+        if (collected > 0) {
+            log.info("媒体对象回收完成：{}个", collected);
+        }
+        return collected;
+    }
+
+    private boolean collect(MediaObject candidate, LocalDateTime before) {
+        String digest = candidate.getDigest();
+        String objectName = candidate.getObjectName();
+        // 引用计数只在后台保存时维护，回收前再按实际引用核对一次，计数漂移时以实际为准
+        int actual = mediaObjectMapper.countReferences(objectStorage.urlOf(objectName));
+        if (actual > 0) {
+            log.warn("媒体对象引用计数漂移，已修正：{} -> {}", digest, actual);
+            mediaObjectMapper.updateRefCount(digest, actual);
+            return false;
+        }
+        // 删除记录与删除存储对象在同一把摘要锁内完成：否则并发上传同一内容时可能在两者之间重新登记，
+        // 随后存储对象被删，新记录指向不存在的文件
+        Lock lock = lockFor(digest);
+        lock.lock();
+        try {
+            if (mediaObjectMapper.deleteIfGarbage(digest, before) == 0) {
+                return false;
+            }
+            index.remove(digest);
+            // 其它实例不共享这把锁，删除文件前再确认记录未被重新登记
+            if (mediaObjectMapper.getByDigest(digest) != null) {
+                log.warn("媒体对象回收期间被重新登记，保留存储对象：{}", objectName);
+                return true;
+            }
+            try {
+                objectStorage.delete(objectName);
+                for (ImageVariant variant : ImageVariant.values()) {
+                    objectStorage.delete(variant.objectName(objectName));
+                }
+            } catch (Exception e) {
+                log.error("媒体对象存储删除失败，需人工清理：{}", objectName, e);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remember(String digest, String objectName) {
+        if (index.size() >= mediaObjectProperties.getIndexCapacity()) {
+            index.clear();
+        }
+        index.put(digest, objectName);
+    }
+
+    private static String digestOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher m = DIGEST_IN_URL.matcher(url);
+        return m.find() ? m.group(1) : null;
+    }
+}
@@ -2,7 +2,9 @@ package com.sky.service.impl;
 
 import com.sky.constant.JwtClaimsConstant;
 import com.sky.constant.MessageConstant;
+import com.sky.datasource.DataSourceRouter;
 import com.sky.dto.LoginRequest;
+import com.sky.dto.RefreshTokenRequest;
 import com.sky.dto.RegisterRequest;
 import com.sky.entity.ReaderType;
 import com.sky.entity.User;
@@ -11,10 +13,20 @@ import com.sky.mapper.ReaderTypeMapper;
 import com.sky.mapper.UserMapper;
 import com.sky.properties.JwtProperties;
 import com.sky.service.AuthService;
+import com.sky.service.PasswordHashService;
+import com.sky.service.RefreshTokenService;
+import com.sky.service.RefreshTokenService.RefreshGrant;
+import com.sky.service.RegisterFilterService;
+import com.sky.service.TokenRevocationService;
+import com.sky.service.UserService;
 import com.sky.utils.JwtUtil;
-import com.sky.utils.PasswordUtil;
+import com.sky.utils.VerifiedTokenCache;
 import com.sky.vo.LoginResponse;
+import com.sky.vo.UserConflictVO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -23,6 +35,9 @@ import java.util.Map;
 @Service
 public class AuthServiceImpl implements AuthService {
 
+    private static final String CODE_TAKEN = "学号/工号已存在";
+    private static final String PHONE_TAKEN = "手机号已存在";
+
     @Autowired
     private UserMapper userMapper;
 
@@ -32,6 +47,24 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private PasswordHashService passwordHashService;
+
+    @Autowired
+    private RegisterFilterService registerFilterService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserService userService;
+
     @Override
     public LoginResponse login(LoginRequest request) {
         if (request == null || request.getCode() == null || request.getCode().trim().isEmpty()) {
@@ -41,21 +74,18 @@ public class AuthServiceImpl implements AuthService {
             throw new BaseException(MessageConstant.LOGIN_FAILED);
         }
 
-        User user = userMapper.getReaderByCode(request.getCode().trim());
+        // 刚注册或刚改密的账号可能尚未复制到从库
+        String code = request.getCode().trim();
+        User user = DataSourceRouter.onPrimary(() -> userMapper.getReaderByCode(code));
         if (user == null) {
             throw new BaseException(MessageConstant.ACCOUNT_NOT_FOUND);
         }
-        if (!PasswordUtil.matchesSha256(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new BaseException(MessageConstant.PASSWORD_ERROR);
         }
+        passwordHashService.upgradeIfNeeded(user.getId(), request.getPassword(), user.getPasswordHash());
 
-        Map<String, Object> claims = new HashMap<>();
-        claims.put(JwtClaimsConstant.USER_ID, user.getId());
-        claims.put(JwtClaimsConstant.NAME, user.getName());
-        claims.put(JwtClaimsConstant.CODE, user.getCode());
-        String token = JwtUtil.createJWT(jwtProperties.getUserSecretKey(), jwtProperties.getUserTtl(), claims);
-
-        return new LoginResponse(token, user.getId(), user.getName(), user.getCode());
+        return issueTokens(user.getId(), user.getName(), user.getCode(), refreshTokenService.openSession(user.getId()));
     }
 
     @Override
@@ -75,11 +105,15 @@ public class AuthServiceImpl implements AuthService {
             throw new BaseException("密码长度至少6位");
         }
 
-        if (userMapper.getByCode(code) != null) {
-            throw new BaseException("学号/工号已存在");
-        }
-        if (userMapper.getByPhone(phone) != null) {
-            throw new BaseException("手机号已存在");
+        // 布隆过滤器判定两者都未占用时跳过查库，否则一次查询确认；并发注册由唯一索引兜底
+        if (registerFilterService.mightBeTaken(code, phone)) {
+            UserConflictVO conflict = DataSourceRouter.onPrimary(() -> userMapper.checkConflict(code, phone));
+            if (Boolean.TRUE.equals(conflict.getCodeTaken())) {
+                throw new BaseException(CODE_TAKEN);
+            }
+            if (Boolean.TRUE.equals(conflict.getPhoneTaken())) {
+                throw new BaseException(PHONE_TAKEN);
+            }
         }
 
         Long readerTypeId = request.getReaderTypeId() == null ? 1L : request.getReaderTypeId();
@@ -93,18 +127,123 @@ public class AuthServiceImpl implements AuthService {
         user.setCode(code);
         user.setPhone(phone);
         user.setReaderTypeId(readerTypeId);
-        user.setPasswordHash(PasswordUtil.sha256Hex(password));
-
-        int inserted = userMapper.insertReader(user);
+        user.setPasswordHash(passwordHashService.hash(password));
+
+        int inserted;
+        try {
+            inserted = userMapper.insertReader(user);
+        } catch (DuplicateKeyException e) {
+            registerFilterService.markTaken(code, phone);
+            String message = e.getMessage() == null ? "" : e.getMessage();
+            if (message.contains("uk_user_code")) {
+                throw new BaseException(CODE_TAKEN);
+            }
+            if (message.contains("uk_user_phone")) {
+                throw new BaseException(PHONE_TAKEN);
+            }
+            throw new BaseException("注册失败");
+        }
         if (inserted != 1 || user.getId() == null) {
             throw new BaseException("注册失败");
         }
+        registerFilterService.markTaken(code, phone);
+
+        return issueTokens(user.getId(), user.getName(), user.getCode(), refreshTokenService.openSession(user.getId()));
+    }
+
+    @Override
+    public void logout(String token, String refreshToken) {
+        closeSession(refreshSessionOf(refreshToken));
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        Claims claims;
+        try {
+            claims = verifiedTokenCache.parse(JwtClaimsConstant.NS_USER, jwtProperties.getUserSecretKey(), token);
+        } catch (ExpiredJwtException e) {
+            // 访问令牌已过期无需吊销，但签名已验证，会话id 可信，仍需结束刷新会话
+            closeSession(e.getClaims().get(JwtClaimsConstant.SID));
+            return;
+        } catch (Exception e) {
+            // 令牌无效，无需吊销
+            return;
+        }
+        tokenRevocationService.revokeToken(JwtClaimsConstant.NS_USER, claims);
+        verifiedTokenCache.evict(JwtClaimsConstant.NS_USER, token);
+        closeSession(claims.get(JwtClaimsConstant.SID));
+    }
+
+    /**
+     * 验签后取刷新令牌所属会话；令牌无效或已过期（会话随之过期）时返回 null
+     */
+    private Object refreshSessionOf(String refreshToken) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            return null;
+        }
+        try {
+            Claims claims = JwtUtil.parseJWT(refreshSecretKey(), refreshToken);
+            return JwtClaimsConstant.TYPE_REFRESH.equals(claims.get(JwtClaimsConstant.TOKEN_TYPE))
+                    ? claims.get(JwtClaimsConstant.SID) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void closeSession(Object sessionId) {
+        if (sessionId != null) {
+            refreshTokenService.closeSession(sessionId.toString());
+        }
+    }
 
+    @Override
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        String refreshToken = request == null ? null : request.getRefreshToken();
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw new BaseException(MessageConstant.USER_NOT_LOGIN);
+        }
+        Claims claims;
+        try {
+            claims = JwtUtil.parseJWT(refreshSecretKey(), refreshToken);
+        } catch (Exception e) {
+            throw new BaseException(MessageConstant.USER_NOT_LOGIN);
+        }
+        if (!JwtClaimsConstant.TYPE_REFRESH.equals(claims.get(JwtClaimsConstant.TOKEN_TYPE))) {
+            throw new BaseException(MessageConstant.USER_NOT_LOGIN);
+        }
+        Long userId = Long.valueOf(claims.get(JwtClaimsConstant.USER_ID).toString());
+        Object sessionId = claims.get(JwtClaimsConstant.SID);
+        if (sessionId == null || !userService.isActive(userId)) {
+            throw new BaseException(MessageConstant.USER_NOT_LOGIN);
+        }
+
+        // 只做验签与会话表轮换，不查库也不计算密码哈希
+        RefreshGrant grant = refreshTokenService.rotate(sessionId.toString(), claims.getId(), userId);
+        if (grant == null) {
+            throw new BaseException(MessageConstant.USER_NOT_LOGIN);
+        }
+        return issueTokens(userId, (String) claims.get(JwtClaimsConstant.NAME), (String) claims.get(JwtClaimsConstant.CODE), grant);
+    }
+
+    /**
+     * 签发短期访问令牌与会话当前的刷新令牌
+     */
+    private LoginResponse issueTokens(Long userId, String name, String code, RefreshGrant grant) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put(JwtClaimsConstant.USER_ID, user.getId());
-        claims.put(JwtClaimsConstant.NAME, user.getName());
-        claims.put(JwtClaimsConstant.CODE, user.getCode());
-        String token = JwtUtil.createJWT(jwtProperties.getUserSecretKey(), jwtProperties.getUserTtl(), claims);
-        return new LoginResponse(token, user.getId(), user.getName(), user.getCode());
+        claims.put(JwtClaimsConstant.USER_ID, userId);
+        claims.put(JwtClaimsConstant.NAME, name);
+        claims.put(JwtClaimsConstant.CODE, code);
+        claims.put(JwtClaimsConstant.SID, grant.getSessionId());
+        String token = JwtUtil.createJWT(jwtProperties.getUserSecretKey(), jwtProperties.getUserAccessTtl(), claims);
+
+        Map<String, Object> refreshClaims = new HashMap<>(claims);
+        refreshClaims.put(JwtClaimsConstant.TOKEN_TYPE, JwtClaimsConstant.TYPE_REFRESH);
+        String refreshToken = JwtUtil.createJWT(refreshSecretKey(), jwtProperties.getUserRefreshTtl(), refreshClaims, grant.getTokenId());
+
+        return new LoginResponse(token, userId, name, code, refreshToken);
+    }
+
+    private String refreshSecretKey() {
+        String key = jwtProperties.getUserRefreshSecretKey();
+        return key == null || key.isEmpty() ? jwtProperties.getUserSecretKey() : key;
     }
 }
@@ -1,14 +1,23 @@
 package com.sky.service.impl;
 
+import com.sky.constant.CacheConstant;
 import com.sky.entity.Book;
+import com.sky.event.PortalContentChangedEvent;
 import com.sky.mapper.BookMapper;
 import com.sky.service.BookService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 
 @Service
+@Slf4j
 public class BookServiceImpl implements BookService {
 
     @Autowired
@@ -22,10 +31,21 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConstant.BOOK_CATEGORIES, key = "'all'", sync = true)
     public List<String> listCategories() {
         return bookMapper.listCategories();
     }
 
+    /**
+     * 图书变更提交后清空分类缓存；排在资源版本递增之前，避免响应体缓存把旧分类记在新版本下
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @CacheEvict(cacheNames = CacheConstant.BOOK_CATEGORIES, allEntries = true)
+    public void onPortalContentChanged(PortalContentChangedEvent event) {
+        log.debug("图书分类缓存失效：{}", event.getSource());
+    }
+
     @Override
     public Book getById(Long id) {
         if (id == null) {
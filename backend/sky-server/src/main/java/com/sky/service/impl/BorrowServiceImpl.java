@@ -4,14 +4,18 @@ import com.sky.context.BaseContext;
 import com.sky.entity.Book;
 import com.sky.entity.ReaderType;
 import com.sky.entity.User;
+import com.sky.event.BookBorrowedEvent;
 import com.sky.exception.BaseException;
 import com.sky.mapper.BookMapper;
 import com.sky.mapper.BorrowRecordMapper;
 import com.sky.mapper.ReaderTypeMapper;
 import com.sky.mapper.UserMapper;
 import com.sky.service.BorrowService;
+import com.sky.service.CirculationStatService;
+import com.sky.service.ResourceVersionService;
 import com.sky.vo.BorrowedBookVO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +36,15 @@ public class BorrowServiceImpl implements BorrowService {
     @Autowired
     private BorrowRecordMapper borrowRecordMapper;
 
+    @Autowired
+    private CirculationStatService circulationStatService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @Override
     @Transactional
     public void borrow(Long bookId) {
@@ -73,6 +86,9 @@ public class BorrowServiceImpl implements BorrowService {
         if (inserted != 1) {
             throw new BaseException("借阅失败");
         }
+        circulationStatService.recordBorrow(book, readerType.getId());
+        resourceVersionService.bump(ResourceVersionService.BOOK);
+        eventPublisher.publishEvent(new BookBorrowedEvent(userId, book));
     }
 
     @Override
@@ -97,6 +113,8 @@ public class BorrowServiceImpl implements BorrowService {
         }
 
         bookMapper.incrementAvailableQty(bookId);
+        circulationStatService.recordReturn(recordId);
+        resourceVersionService.bump(ResourceVersionService.BOOK);
     }
 
     @Override
@@ -123,6 +141,7 @@ public class BorrowServiceImpl implements BorrowService {
         if (updated != 1) {
             throw new BaseException("续借失败（可能已超期或达到最大续借次数）");
         }
+        circulationStatService.recordRenew(recordId);
     }
 
     @Override
@@ -0,0 +1,179 @@
+package com.sky.service.impl;
+
+import com.sky.entity.Book;
+import com.sky.entity.CirculationStat;
+import com.sky.exception.BaseException;
+import com.sky.mapper.CirculationStatMapper;
+import com.sky.service.CirculationStatService;
+import com.sky.vo.CirculationStatRebuildVO;
+import com.sky.vo.CirculationStatsVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 借阅统计：借出/归还/续借时在同一事务内增量累加汇总行，查询只读取汇总表，与借阅记录规模无关
+ */
+@Service
+@Slf4j
+public class CirculationStatServiceImpl implements CirculationStatService {
+
+    private static final String DIMENSION_DAY = "day";
+    private static final String DIMENSION_CATEGORY = "category";
+    private static final String DIMENSION_READER_TYPE = "reader_type";
+
+    /**
+     * 历史回填时每批处理的借阅记录ID跨度
+     */
+    private static final long REBUILD_CHUNK_SIZE = 5000L;
+
+    /**
+     * 重建结果写回时每条 INSERT 的行数
+     */
+    private static final int REPLACE_BATCH_SIZE = 500;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    @Autowired
+    private CirculationStatMapper circulationStatMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void recordBorrow(Book book, Long readerTypeId) {
+        String day = LocalDate.now().toString();
+        String category = book.getCategory() == null ? "" : book.getCategory();
+        String readerType = readerTypeId == null ? "" : readerTypeId.toString();
+        circulationStatMapper.upsertDeltas(Arrays.asList(
+                new CirculationStat(DIMENSION_DAY, day, 1L, 0L, 0L, null),
+                new CirculationStat(DIMENSION_CATEGORY, category, 1L, 0L, 0L, null),
+                new CirculationStat(DIMENSION_READER_TYPE, readerType, 1L, 0L, 0L, null)
+        ));
+    }
+
+    @Override
+    public void recordReturn(Long recordId) {
+        circulationStatMapper.incrementByRecordId(recordId, 1, 0);
+    }
+
+    @Override
+    public void recordRenew(Long recordId) {
+        circulationStatMapper.incrementByRecordId(recordId, 0, 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CirculationStatsVO getStats(Integer days) {
+        int d = days == null || days < 1 ? 30 : Math.min(days, 366);
+        String fromKey = LocalDate.now().minusDays(d - 1L).toString();
+        return new CirculationStatsVO(
+                circulationStatMapper.listDaily(fromKey),
+                circulationStatMapper.listCategories(),
+                circulationStatMapper.listReaderTypes()
+        );
+    }
+
+    /**
+     * 重建分两步，汇总表全程可读且不丢失重建期间的增量：
+     * 1. 在一个可重复读事务内先读取当前汇总行作为快照基线，再按借阅记录ID分段聚合（含归档），
+     *    所有读取都落在同一快照上，不加锁、不阻塞借还；
+     * 2. 短事务中锁住汇总表，把快照之后增量累加的差值（当前值 - 基线）叠加到重建结果上整体覆盖，
+     *    重建期间发生的归还/续借只计一次
+     */
+    @Override
+    public CirculationStatRebuildVO rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BaseException("统计数据正在重建，请稍后再试");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, CirculationStat> baseline = new HashMap<>();
+            Map<String, CirculationStat> rebuilt = new HashMap<>();
+            Long maxId = snapshotTemplate().execute(status -> {
+                for (CirculationStat stat : circulationStatMapper.listAll()) {
+                    baseline.put(keyOf(stat), stat);
+                }
+                Long max = circulationStatMapper.getMaxRecordId();
+                if (max != null) {
+                    for (long from = 1; from <= max; from += REBUILD_CHUNK_SIZE) {
+                        long to = Math.min(from + REBUILD_CHUNK_SIZE, max + 1);
+                        accumulate(rebuilt, circulationStatMapper.sumDayBorrow(from, to));
+                        accumulate(rebuilt, circulationStatMapper.sumDayReturn(from, to));
+                        accumulate(rebuilt, circulationStatMapper.sumCategory(from, to));
+                        accumulate(rebuilt, circulationStatMapper.sumReaderType(from, to));
+                    }
+                }
+                return max;
+            });
+            int chunks = maxId == null ? 0 : (int) ((maxId + REBUILD_CHUNK_SIZE - 1) / REBUILD_CHUNK_SIZE);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                for (CirculationStat current : circulationStatMapper.listAllForUpdate()) {
+                    CirculationStat base = baseline.get(keyOf(current));
+                    CirculationStat delta = base == null ? current : new CirculationStat(
+                            current.getDimension(), current.getDimKey(),
+                            current.getBorrowCount() - base.getBorrowCount(),
+                            current.getReturnCount() - base.getReturnCount(),
+                            current.getRenewCount() - base.getRenewCount(), null);
+                    accumulate(rebuilt, Collections.singletonList(delta));
+                }
+                List<CirculationStat> rows = new ArrayList<>(rebuilt.values());
+                for (int i = 0; i < rows.size(); i += REPLACE_BATCH_SIZE) {
+                    circulationStatMapper.replaceAll(rows.subList(i, Math.min(i + REPLACE_BATCH_SIZE, rows.size())));
+                }
+                circulationStatMapper.deleteEmpty();
+            });
+
+            long duration = System.currentTimeMillis() - start;
+            log.info("借阅统计重建完成：maxRecordId={}, chunks={}, 耗时{}ms", maxId, chunks, duration);
+            return new CirculationStatRebuildVO(maxId, chunks, duration);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private TransactionTemplate snapshotTemplate() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template;
+    }
+
+    private static void accumulate(Map<String, CirculationStat> target, List<CirculationStat> stats) {
+        for (CirculationStat stat : stats) {
+            CirculationStat existing = target.get(keyOf(stat));
+            if (existing == null) {
+                target.put(keyOf(stat), new CirculationStat(stat.getDimension(), stat.getDimKey(),
+                        nvl(stat.getBorrowCount()), nvl(stat.getReturnCount()), nvl(stat.getRenewCount()), null));
+            } else {
+                existing.setBorrowCount(existing.getBorrowCount() + nvl(stat.getBorrowCount()));
+                existing.setReturnCount(existing.getReturnCount() + nvl(stat.getReturnCount()));
+                existing.setRenewCount(existing.getRenewCount() + nvl(stat.getRenewCount()));
+            }
+        }
+    }
+
+    private static String keyOf(CirculationStat stat) {
+        return stat.getDimension() + ":" + stat.getDimKey();
+    }
+
+    private static long nvl(Long value) {
+        return value == null ? 0L : value;
+    }
+}
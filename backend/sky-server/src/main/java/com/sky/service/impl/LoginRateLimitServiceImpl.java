@@ -0,0 +1,121 @@
+package com.sky.service.impl;
+
+import com.sky.exception.BaseException;
+import com.sky.properties.LoginRateLimitProperties;
+import com.sky.service.LoginRateLimitService;
+import com.sky.utils.TokenBucketLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录限流：在查库和密码哈希之前，分别按 IP 和账号扣减令牌桶。
+ * 默认使用本地分段锁令牌桶；开启 Redis 模式后由 Lua 脚本原子地维护共享桶，Redis 异常时退回本地桶。
+ */
+@Service
+@Slf4j
+public class LoginRateLimitServiceImpl implements LoginRateLimitService {
+
+    private static final String TOO_FREQUENT = "登录过于频繁，请稍后再试";
+
+    /**
+     * KEYS[1]=桶键；ARGV=容量, 每毫秒补充数, 过期毫秒。使用 Redis 服务器时间，避免各节点时钟偏差
+     */
+    private static final String TOKEN_BUCKET_LUA =
+            "local capacity = tonumber(ARGV[1])\n" +
+            "local rate = tonumber(ARGV[2])\n" +
+            "local t = redis.call('TIME')\n" +
+            "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)\n" +
+            "local b = redis.call('HMGET', KEYS[1], 'tokens', 'ts')\n" +
+            "local tokens = tonumber(b[1])\n" +
+            "local ts = tonumber(b[2])\n" +
+            "if tokens == nil then tokens = capacity; ts = now end\n" +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)\n" +
+            "local allowed = 0\n" +
+            "if tokens >= 1 then tokens = tokens - 1; allowed = 1 end\n" +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))\n" +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[3])\n" +
+            "return allowed";
+
+    @Autowired
+    private LoginRateLimitProperties loginRateLimitProperties;
+
+    @Autowired
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    private TokenBucketLimiter accountLimiter;
+    private TokenBucketLimiter ipLimiter;
+    private DefaultRedisScript<Long> tokenBucketScript;
+
+    @PostConstruct
+    public void init() {
+        LoginRateLimitProperties p = loginRateLimitProperties;
+        accountLimiter = new TokenBucketLimiter(p.getAccountCapacity(), p.getAccountRefillPerMinute() / 60d, p.getStripes());
+        ipLimiter = new TokenBucketLimiter(p.getIpCapacity(), p.getIpRefillPerMinute() / 60d, p.getStripes());
+        tokenBucketScript = new DefaultRedisScript<>(TOKEN_BUCKET_LUA, Long.class);
+    }
+
+    @Override
+    public void checkLogin(String scope, String account, HttpServletRequest request) {
+        if (!loginRateLimitProperties.isEnabled()) {
+            return;
+        }
+        LoginRateLimitProperties p = loginRateLimitProperties;
+        String ip = clientIp(request);
+        if (!tryAcquire(ipLimiter, scope + ":ip:" + ip, p.getIpCapacity(), p.getIpRefillPerMinute())) {
+            log.warn("登录限流：scope={}, ip={}", scope, ip);
+            throw new BaseException(TOO_FREQUENT);
+        }
+        String normalized = account == null ? "" : account.trim().toLowerCase();
+        if (!normalized.isEmpty()
+                && !tryAcquire(accountLimiter, scope + ":acct:" + normalized, p.getAccountCapacity(), p.getAccountRefillPerMinute())) {
+            log.warn("登录限流：scope={}, account={}", scope, normalized);
+            throw new BaseException(TOO_FREQUENT);
+        }
+    }
+
+    @Override
+    public void evictIdle() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(loginRateLimitProperties.getIdleEvictMs());
+        accountLimiter.evictIdle(idleNanos);
+        ipLimiter.evictIdle(idleNanos);
+    }
+
+    private boolean tryAcquire(TokenBucketLimiter local, String key, int capacity, double refillPerMinute) {
+        if (loginRateLimitProperties.isRedisEnabled()) {
+            StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+            if (redisTemplate != null) {
+                try {
+                    double perMilli = refillPerMinute / 60000d;
+                    long ttl = (long) Math.ceil(capacity / perMilli) + 1000;
+                    Long allowed = redisTemplate.execute(tokenBucketScript,
+                            Collections.singletonList(loginRateLimitProperties.getRedisKeyPrefix() + key),
+                            String.valueOf(capacity), String.valueOf(perMilli), String.valueOf(ttl));
+                    return allowed != null && allowed == 1L;
+                } catch (Exception e) {
+                    log.warn("Redis 登录限流不可用，改用本地令牌桶：{}", e.getMessage());
+                }
+            }
+        }
+        return local.tryAcquire(key);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (loginRateLimitProperties.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isEmpty()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
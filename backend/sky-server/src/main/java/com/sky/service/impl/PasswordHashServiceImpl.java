@@ -0,0 +1,112 @@
+package com.sky.service.impl;
+
+import com.sky.exception.BaseException;
+import com.sky.mapper.UserMapper;
+import com.sky.properties.PasswordHashProperties;
+import com.sky.service.PasswordHashService;
+import com.sky.utils.PasswordUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希统一放到固定大小、有界队列的线程池执行：
+ * 同时进行的 PBKDF2 计算不超过线程数，排队超过上限时立即拒绝，
+ * 避免登录高峰把所有 Tomcat 线程都拖进 CPU 密集计算
+ */
+@Service
+@Slf4j
+public class PasswordHashServiceImpl implements PasswordHashService {
+
+    @Autowired
+    private PasswordHashProperties passwordHashProperties;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int threads = passwordHashProperties.getThreads() > 0
+                ? passwordHashProperties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNo = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, passwordHashProperties.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String hash(String raw) {
+        return await(() -> PasswordUtil.hash(raw, passwordHashProperties.getIterations()));
+    }
+
+    @Override
+    public boolean matches(String raw, String stored) {
+        return await(() -> PasswordUtil.matches(raw, stored));
+    }
+
+    @Override
+    public void upgradeIfNeeded(Long userId, String raw, String stored) {
+        int iterations = passwordHashProperties.getIterations();
+        if (userId == null || !PasswordUtil.needsRehash(stored, iterations)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    String upgraded = PasswordUtil.hash(raw, iterations);
+                    userMapper.upgradePasswordHash(userId, stored, upgraded);
+                } catch (Exception e) {
+                    log.warn("升级密码哈希失败：userId={}", userId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 繁忙时放弃本次升级，下次登录再试
+            log.debug("哈希线程池繁忙，跳过密码哈希升级：userId={}", userId);
+        }
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new BaseException("系统繁忙，请稍后再试");
+        }
+        try {
+            return future.get(passwordHashProperties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new BaseException("系统繁忙，请稍后再试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException("系统繁忙，请稍后再试");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("密码哈希失败", e.getCause());
+        }
+    }
+}
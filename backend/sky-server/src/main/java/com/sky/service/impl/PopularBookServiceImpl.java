@@ -0,0 +1,289 @@
+package com.sky.service.impl;
+
+import com.sky.entity.Book;
+import com.sky.event.BookBorrowedEvent;
+import com.sky.event.PortalContentChangedEvent;
+import com.sky.mapper.BookMapper;
+import com.sky.mapper.BorrowRecordMapper;
+import com.sky.properties.PopularBookProperties;
+import com.sky.service.PopularBookService;
+import com.sky.utils.SpaceSavingCounter;
+import com.sky.vo.BookDailyBorrowVO;
+import com.sky.vo.PopularBookVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 热门借阅排行：借出事件写入按天分桶的 Space-Saving 计数器，近7天/近30天窗口由分桶合并得到，
+ * 合并结果缓存为快照，请求只读取快照，不再对 borrow_record 做 GROUP BY
+ */
+@Service
+@Slf4j
+public class PopularBookServiceImpl implements PopularBookService {
+
+    private static final int WINDOW_DAYS = 30;
+    private static final int WEEK_DAYS = 7;
+    private static final int MAX_LIMIT = 50;
+    private static final int CHECKPOINT_MAGIC = 0x504F5055;
+
+    @Autowired
+    private PopularBookProperties popularBookProperties;
+
+    @Autowired
+    private BorrowRecordMapper borrowRecordMapper;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    private final Object lock = new Object();
+
+    /**
+     * 环形日分桶，下标为 epochDay % WINDOW_DAYS，bucketDays 记录分桶当前对应的日期
+     */
+    private final SpaceSavingCounter[] buckets = new SpaceSavingCounter[WINDOW_DAYS];
+    private final long[] bucketDays = new long[WINDOW_DAYS];
+
+    /**
+     * 榜单展示用的书名/作者/封面；图书变更后整体失效，条目数超过计数器容量时清空重建
+     */
+    private final Map<Long, PopularBookVO> bookMeta = new ConcurrentHashMap<>();
+    private final Map<Integer, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private volatile long version;
+    private volatile long checkpointedVersion;
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < WINDOW_DAYS; i++) {
+            buckets[i] = new SpaceSavingCounter(popularBookProperties.getCapacity());
+            bucketDays[i] = -1;
+        }
+        if (!restoreCheckpoint()) {
+            warmUpFromDatabase();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        checkpoint();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBorrowed(BookBorrowedEvent event) {
+        Book book = event.getBook();
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        putMeta(book);
+        synchronized (lock) {
+            bucketFor(LocalDate.now().toEpochDay()).offer(book.getId());
+            version++;
+        }
+    }
+
+    /**
+     * 图书新增、修改、删除提交后丢弃书目信息与榜单快照，下次查询按最新数据重建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPortalContentChanged(PortalContentChangedEvent event) {
+        bookMeta.clear();
+        snapshots.clear();
+    }
+
+    @Override
+    public List<PopularBookVO> listPopular(String window, Integer limit) {
+        int days = "month".equalsIgnoreCase(window) ? WINDOW_DAYS : WEEK_DAYS;
+        int n = limit == null ? 10 : Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        long today = LocalDate.now().toEpochDay();
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = snapshots.get(days);
+        if (snapshot == null
+                || snapshot.epochDay != today
+                || (snapshot.version != version && now - snapshot.builtAt >= popularBookProperties.getRefreshIntervalMs())) {
+            snapshot = buildSnapshot(days, today, now);
+            snapshots.put(days, snapshot);
+        }
+        List<PopularBookVO> items = snapshot.items;
+        return items.size() <= n ? items : items.subList(0, n);
+    }
+
+    private Snapshot buildSnapshot(int days, long today, long now) {
+        long builtVersion;
+        List<SpaceSavingCounter.Entry> top;
+        synchronized (lock) {
+            builtVersion = version;
+            SpaceSavingCounter merged = new SpaceSavingCounter(popularBookProperties.getCapacity());
+            for (int i = 0; i < WINDOW_DAYS; i++) {
+                long day = bucketDays[i];
+                if (day >= 0 && day > today - days && day <= today) {
+                    merged.merge(buckets[i]);
+                }
+            }
+            top = merged.top(MAX_LIMIT);
+        }
+
+        List<Long> missing = new ArrayList<>();
+        for (SpaceSavingCounter.Entry e : top) {
+            if (!bookMeta.containsKey(e.getKey())) {
+                missing.add(e.getKey());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Book book : bookMapper.listByIds(missing)) {
+                putMeta(book);
+            }
+        }
+
+        List<PopularBookVO> items = new ArrayList<>(top.size());
+        for (SpaceSavingCounter.Entry e : top) {
+            PopularBookVO meta = bookMeta.get(e.getKey());
+            if (meta == null) {
+                // 已删除的图书
+                continue;
+            }
+            items.add(new PopularBookVO(meta.getBookId(), meta.getTitle(), meta.getAuthor(), meta.getCoverUrl(), e.getCount()));
+        }
+        return new Snapshot(builtVersion, today, now, Collections.unmodifiableList(items));
+    }
+
+    private void putMeta(Book book) {
+        if (bookMeta.size() >= popularBookProperties.getCapacity()) {
+            bookMeta.clear();
+        }
+        bookMeta.put(book.getId(), new PopularBookVO(book.getId(), book.getTitle(), book.getAuthor(), book.getCoverUrl(), null));
+    }
+
+    /**
+     * 取得某天的分桶，分桶里残留的是30天前的数据时先清空
+     */
+    private SpaceSavingCounter bucketFor(long epochDay) {
+        int idx = (int) (epochDay % WINDOW_DAYS);
+        if (bucketDays[idx] != epochDay) {
+            buckets[idx].clear();
+            bucketDays[idx] = epochDay;
+        }
+        return buckets[idx];
+    }
+
+    @Override
+    public void checkpoint() {
+        long currentVersion = version;
+        if (currentVersion == checkpointedVersion) {
+            return;
+        }
+        long[] days = new long[WINDOW_DAYS];
+        List<List<SpaceSavingCounter.Entry>> entries = new ArrayList<>(WINDOW_DAYS);
+        synchronized (lock) {
+            currentVersion = version;
+            for (int i = 0; i < WINDOW_DAYS; i++) {
+                days[i] = bucketDays[i];
+                entries.add(buckets[i].entries());
+            }
+        }
+
+        Path target = Paths.get(popularBookProperties.getCheckpointFile());
+        try {
+            Path dir = target.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            Path tmp = Files.createTempFile(dir, "popular-books", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(WINDOW_DAYS);
+                for (int i = 0; i < WINDOW_DAYS; i++) {
+                    out.writeLong(days[i]);
+                    out.writeInt(entries.get(i).size());
+                    for (SpaceSavingCounter.Entry e : entries.get(i)) {
+                        out.writeLong(e.getKey());
+                        out.writeLong(e.getCount());
+                        out.writeLong(e.getError());
+                    }
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointedVersion = currentVersion;
+        } catch (IOException e) {
+            log.warn("热门借阅检查点写入失败：{}", target, e);
+        }
+    }
+
+    private boolean restoreCheckpoint() {
+        Path file = Paths.get(popularBookProperties.getCheckpointFile());
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != WINDOW_DAYS) {
+                log.warn("热门借阅检查点格式不匹配，忽略：{}", file);
+                return false;
+            }
+            synchronized (lock) {
+                for (int i = 0; i < WINDOW_DAYS; i++) {
+                    bucketDays[i] = in.readLong();
+                    int size = in.readInt();
+                    List<SpaceSavingCounter.Entry> entries = new ArrayList<>(size);
+                    for (int j = 0; j < size; j++) {
+                        entries.add(new SpaceSavingCounter.Entry(in.readLong(), in.readLong(), in.readLong()));
+                    }
+                    buckets[i].restore(entries);
+                }
+            }
+            log.info("已从检查点恢复热门借阅计数：{}", file);
+            return true;
+        } catch (IOException e) {
+            log.warn("热门借阅检查点读取失败，改为从数据库预热：{}", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * 首次启动（没有检查点）时从近30天借阅记录预热一次
+     */
+    private void warmUpFromDatabase() {
+        LocalDate since = LocalDate.now().minusDays(WINDOW_DAYS - 1L);
+        List<BookDailyBorrowVO> rows = borrowRecordMapper.listDailyBookCounts(since.atStartOfDay());
+        synchronized (lock) {
+            for (BookDailyBorrowVO row : rows) {
+                bucketFor(row.getDay().toEpochDay()).offer(row.getBookId(), row.getBorrowCount(), 0L);
+            }
+            version++;
+        }
+        log.info("热门借阅计数已从数据库预热，共{}行", rows.size());
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final long epochDay;
+        private final long builtAt;
+        private final List<PopularBookVO> items;
+
+        Snapshot(long version, long epochDay, long builtAt, List<PopularBookVO> items) {
+            this.version = version;
+            this.epochDay = epochDay;
+            this.builtAt = builtAt;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.sky.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.event.PortalContentChangedEvent;
+import com.sky.json.JacksonObjectMapper;
+import com.sky.mapper.BookMapper;
+import com.sky.mapper.PortalPostMapper;
+import com.sky.result.Result;
+import com.sky.service.PortalHomeService;
+import com.sky.service.PortalPublishService;
+import com.sky.service.ResourceVersionService;
+import com.sky.utils.HttpCacheUtil;
+import com.sky.vo.PortalHomeVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 门户首页聚合快照：轮播、新闻、公告、分类一次查询后序列化成字节数组常驻内存，
+ * 弱 ETag 取内容摘要。请求直接写出字节，内容变更事件触发重建；
+ * 快照同时记下构建时的资源版本，其它实例发生变更、版本推进后下次请求也会重建。
+ */
+@Service
+@Slf4j
+public class PortalHomeServiceImpl implements PortalHomeService {
+
+    private static final int HOME_POST_LIMIT = 6;
+    private static final int TYPE_NEWS = 2;
+    private static final int TYPE_NOTICE = 3;
+
+    @Autowired
+    private PortalPostMapper portalPostMapper;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private PortalPublishService portalPublishService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    private final ObjectMapper objectMapper = new JacksonObjectMapper();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 构建快照时的图书与门户内容版本
+     */
+    private volatile String snapshotVersion;
+
+    @Override
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null || !currentVersion().equals(snapshotVersion)) {
+            synchronized (this) {
+                if (snapshot == null || !currentVersion().equals(snapshotVersion)) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        // 先取版本再查数据，避免把旧数据记在新版本下
+        String version = currentVersion();
+        LocalDateTime cutoff = portalPublishService.getCutoff();
+        PortalHomeVO home = new PortalHomeVO(
+                portalPostMapper.listCarousel(cutoff),
+                portalPostMapper.listPosts(TYPE_NEWS, HOME_POST_LIMIT, cutoff),
+                portalPostMapper.listPosts(TYPE_NOTICE, HOME_POST_LIMIT, cutoff),
+                bookMapper.listCategories()
+        );
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Result.success(home));
+            snapshot = new Snapshot(body, etagOf(body));
+            snapshotVersion = version;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("门户首页快照序列化失败", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPortalContentChanged(PortalContentChangedEvent event) {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // 重建失败时丢弃旧快照，下次请求再构建
+            snapshot = null;
+            log.error("门户首页快照重建失败：source={}", event.getSource(), e);
+        }
+    }
+
+    private String currentVersion() {
+        return resourceVersionService.current(ResourceVersionService.BOOK).getEtag()
+                + resourceVersionService.current(ResourceVersionService.PORTAL_POST).getEtag();
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HttpCacheUtil.weakEtag(Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.sky.service.impl;
+
+import com.sky.event.PortalContentChangedEvent;
+import com.sky.mapper.PortalPostMapper;
+import com.sky.service.PortalPublishService;
+import com.sky.service.ResourceVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 门户内容定时发布：未来的发布时间放进按时间排序的延迟队列，单个后台线程在到点时
+ * 推进可见上限（cutoff）、递增资源版本并触发首页快照重建。
+ * 门户查询只比较固定的 cutoff，同一 cutoff 下结果不变，快照与 HTTP 缓存都可以放心复用。
+ * <p>
+ * 队列只在内存中，启动时及之后定期从数据库补充（{@link com.sky.task.PortalPublishReloadTask}）：
+ * 多实例部署时，其它实例保存的内容其发布时间晚于本实例上限，补充后立即或到点触发，本实例随之推进上限并刷新缓存。
+ * 内容被删除或改期后旧的到点任务照常触发，只是多刷新一次。
+ */
+@Service
+@Slf4j
+public class PortalPublishServiceImpl implements PortalPublishService {
+
+    @Autowired
+    private PortalPostMapper portalPostMapper;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final DelayQueue<PendingPublish> queue = new DelayQueue<>();
+
+    private final Set<LocalDateTime> queued = ConcurrentHashMap.newKeySet();
+
+    private volatile LocalDateTime cutoff = now();
+
+    private volatile Thread worker;
+
+    @Override
+    public LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    @Override
+    public void schedule(LocalDateTime publishTime) {
+        advanceTo(now());
+        if (publishTime != null && publishTime.isAfter(cutoff) && queued.add(publishTime)) {
+            queue.put(new PendingPublish(publishTime));
+            log.info("门户内容加入发布调度：{}", publishTime);
+        }
+    }
+
+    @Override
+    public void reload() {
+        LocalDateTime after = cutoff;
+        List<LocalDateTime> pending = portalPostMapper.listPendingPublishTimes(after);
+        int added = 0;
+        for (LocalDateTime publishTime : pending) {
+            if (queued.add(publishTime)) {
+                queue.put(new PendingPublish(publishTime));
+                added++;
+            }
+        }
+        if (added > 0) {
+            log.info("门户发布调度已加载：新增待发布时间点{}个", added);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+        Thread t = new Thread(this::runLoop, "portal-publish-scheduler");
+        t.setDaemon(true);
+        t.start();
+        worker = t;
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = worker;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    private void runLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingPublish due = queue.take();
+                queued.remove(due.publishTime);
+                publish(due.publishTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("门户定时发布处理失败", e);
+            }
+        }
+    }
+
+    private void publish(LocalDateTime publishTime) {
+        if (!advanceTo(publishTime)) {
+            return;
+        }
+        // 先让列表缓存失效再递增版本，避免响应体缓存把旧列表记在新版本下
+        eventPublisher.publishEvent(new PortalContentChangedEvent("publish"));
+        resourceVersionService.bump(ResourceVersionService.PORTAL_POST);
+        log.info("门户内容到点发布：{}", publishTime);
+    }
+
+    /**
+     * 只向后推进，返回上限是否发生变化
+     */
+    private synchronized boolean advanceTo(LocalDateTime time) {
+        if (!time.isAfter(cutoff)) {
+            return false;
+        }
+        cutoff = time;
+        return true;
+    }
+
+    /**
+     * datetime 列只保存到秒，上限同样取整秒，避免与刚写入的发布时间比较时出现亚秒误差
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().withNano(0);
+    }
+
+    private static class PendingPublish implements Delayed {
+        private final LocalDateTime publishTime;
+
+        PendingPublish(LocalDateTime publishTime) {
+            this.publishTime = publishTime;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), publishTime).toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return publishTime.compareTo(((PendingPublish) other).publishTime);
+        }
+    }
+}
@@ -1,31 +1,51 @@
 package com.sky.service.impl;
 
+import com.sky.constant.CacheConstant;
+import com.sky.event.PortalContentChangedEvent;
 import com.sky.exception.BaseException;
 import com.sky.mapper.PortalPostMapper;
+import com.sky.service.PortalPublishService;
 import com.sky.service.PortalService;
 import com.sky.vo.CarouselItemVO;
 import com.sky.vo.PortalPostDetailVO;
 import com.sky.vo.PortalPostListItemVO;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 
 @Service
+@Slf4j
 public class PortalServiceImpl implements PortalService {
 
     @Autowired
     private PortalPostMapper portalPostMapper;
 
+    @Autowired
+    private PortalPublishService portalPublishService;
+
     @Override
+    @Cacheable(cacheNames = CacheConstant.PORTAL_CAROUSEL, key = "'all'", sync = true)
     public List<CarouselItemVO> listCarousel() {
-        return portalPostMapper.listCarousel();
+        return portalPostMapper.listCarousel(portalPublishService.getCutoff());
     }
 
+    /**
+     * 缓存键取截断后的条数；未知类型查不到数据，不缓存
+     */
     @Override
+    @Cacheable(cacheNames = CacheConstant.PORTAL_POSTS,
+            key = "#type + ':' + T(com.sky.service.PortalService).resolvePostLimit(#limit)",
+            condition = "#type == null || T(com.sky.service.PortalService).isKnownType(#type)",
+            sync = true)
     public List<PortalPostListItemVO> listPosts(Integer type, Integer limit) {
-        int resolvedLimit = limit == null ? 10 : Math.min(Math.max(limit, 1), 100);
-        return portalPostMapper.listPosts(type, resolvedLimit);
+        return portalPostMapper.listPosts(type, PortalService.resolvePostLimit(limit), portalPublishService.getCutoff());
     }
 
     @Override
@@ -33,11 +53,20 @@ public class PortalServiceImpl implements PortalService {
         if (id == null) {
             throw new BaseException("内容不存在");
         }
-        PortalPostDetailVO vo = portalPostMapper.getDetailById(id);
+        PortalPostDetailVO vo = portalPostMapper.getDetailById(id, portalPublishService.getCutoff());
         if (vo == null) {
             throw new BaseException("内容不存在");
         }
         return vo;
     }
-}
 
+    /**
+     * 门户内容变更提交或定时发布到点后清空列表缓存；排在资源版本递增之前，避免响应体缓存把旧列表记在新版本下
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @CacheEvict(cacheNames = {CacheConstant.PORTAL_CAROUSEL, CacheConstant.PORTAL_POSTS}, allEntries = true)
+    public void onPortalContentChanged(PortalContentChangedEvent event) {
+        log.debug("门户列表缓存失效：{}", event.getSource());
+    }
+}
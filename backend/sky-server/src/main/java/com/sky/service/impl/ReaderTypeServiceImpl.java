@@ -1,9 +1,11 @@
 package com.sky.service.impl;
 
+import com.sky.constant.CacheConstant;
 import com.sky.entity.ReaderType;
 import com.sky.mapper.ReaderTypeMapper;
 import com.sky.service.ReaderTypeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +17,7 @@ public class ReaderTypeServiceImpl implements ReaderTypeService {
     private ReaderTypeMapper readerTypeMapper;
 
     @Override
+    @Cacheable(cacheNames = CacheConstant.READER_TYPES, key = "'enabled'", sync = true)
     public List<ReaderType> listEnabled() {
         return readerTypeMapper.listEnabled();
     }
@@ -0,0 +1,114 @@
+package com.sky.service.impl;
+
+import com.sky.datasource.DataSourceRouter;
+import com.sky.entity.UserRefreshSession;
+import com.sky.mapper.UserRefreshSessionMapper;
+import com.sky.properties.JwtProperties;
+import com.sky.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+
+/**
+ * 刷新令牌会话表：每个会话只保存 用户id、当前刷新令牌id、过期时间，持久化在 user_refresh_session，
+ * 进程重启或请求落到其它实例时仍可刷新。会话id 与令牌id 都是 64 位随机数（对外以 36 进制字符串表示）。
+ * 令牌轮换由条件 UPDATE 原子完成，出示非当前令牌即判定为重放，整个会话作废。
+ */
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int RADIX = 36;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private UserRefreshSessionMapper userRefreshSessionMapper;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Override
+    public RefreshGrant openSession(Long userId) {
+        UserRefreshSession session = new UserRefreshSession();
+        session.setUserId(userId);
+        session.setTokenId(random.nextLong());
+        session.setExpiresAt(System.currentTimeMillis() + jwtProperties.getUserRefreshTtl());
+        while (true) {
+            session.setId(random.nextLong());
+            try {
+                userRefreshSessionMapper.insert(session);
+                break;
+            } catch (DuplicateKeyException e) {
+                // 会话id 碰撞，换一个重试
+            }
+        }
+        return new RefreshGrant(encode(session.getId()), encode(session.getTokenId()));
+    }
+
+    @Override
+    public RefreshGrant rotate(String sessionId, String tokenId, Long userId) {
+        Long sid = decode(sessionId);
+        Long presented = decode(tokenId);
+        if (sid == null || presented == null || userId == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long next = random.nextLong();
+        int rotated = userRefreshSessionMapper.rotate(sid, userId, presented, next, now + jwtProperties.getUserRefreshTtl(), now);
+        if (rotated == 1) {
+            return new RefreshGrant(sessionId, encode(next));
+        }
+        // 轮换失败：会话已过期、不存在或出示了旧令牌，一律作废
+        UserRefreshSession session = DataSourceRouter.onPrimary(() -> userRefreshSessionMapper.getById(sid));
+        if (session == null) {
+            return null;
+        }
+        userRefreshSessionMapper.deleteById(sid);
+        if (session.getExpiresAt() > now && !session.getTokenId().equals(presented)) {
+            log.warn("检测到刷新令牌重放，已作废会话：userId={}, sessionId={}", userId, sessionId);
+        }
+        return null;
+    }
+
+    @Override
+    public void closeSession(String sessionId) {
+        Long sid = decode(sessionId);
+        if (sid != null) {
+            userRefreshSessionMapper.deleteById(sid);
+        }
+    }
+
+    @Override
+    public void closeUserSessions(Long userId) {
+        if (userId != null) {
+            userRefreshSessionMapper.deleteByUserId(userId);
+        }
+    }
+
+    @Override
+    public void sweep() {
+        int removed = userRefreshSessionMapper.deleteExpired(System.currentTimeMillis());
+        if (removed > 0) {
+            log.info("清理过期刷新令牌会话{}个", removed);
+        }
+    }
+
+    private static String encode(long value) {
+        return Long.toUnsignedString(value, RADIX);
+    }
+
+    private static Long decode(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseUnsignedLong(value, RADIX);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.sky.service.impl;
+
+import com.sky.entity.User;
+import com.sky.mapper.UserMapper;
+import com.sky.properties.RegisterFilterProperties;
+import com.sky.service.RegisterFilterService;
+import com.sky.utils.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 注册查重的布隆过滤器前置：已占用的学号/工号与手机号各放一个过滤器，
+ * 绝大多数不冲突的注册无需查库；过滤器只做预判，最终以唯一索引为准。
+ * 预热完成前一律视为可能冲突，退回数据库查询。
+ */
+@Service
+@Slf4j
+public class RegisterFilterServiceImpl implements RegisterFilterService {
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private RegisterFilterProperties registerFilterProperties;
+
+    private BloomFilter codeFilter;
+    private BloomFilter phoneFilter;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        codeFilter = new BloomFilter(registerFilterProperties.getExpectedUsers(), registerFilterProperties.getFpp());
+        phoneFilter = new BloomFilter(registerFilterProperties.getExpectedUsers(), registerFilterProperties.getFpp());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread t = new Thread(this::load, "register-filter-warmup");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    @Override
+    public boolean mightBeTaken(String code, String phone) {
+        if (!ready) {
+            return true;
+        }
+        return codeFilter.mightContain(code) || phoneFilter.mightContain(phone);
+    }
+
+    @Override
+    public void markTaken(String code, String phone) {
+        if (code != null) {
+            codeFilter.put(code);
+        }
+        if (phone != null) {
+            phoneFilter.put(phone);
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        long[] count = new long[1];
+        try {
+            userMapper.streamIdentifiers(ctx -> {
+                User user = ctx.getResultObject();
+                markTaken(user.getCode(), user.getPhone());
+                count[0]++;
+            });
+            ready = true;
+            log.info("注册查重过滤器预热完成：账号{}个, 耗时{}ms", count[0], System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("注册查重过滤器预热失败，注册将直接查库", e);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.sky.service.impl;
+
+import com.sky.datasource.DataSourceRouter;
+import com.sky.entity.Book;
+import com.sky.event.BookBorrowedEvent;
+import com.sky.event.PortalContentChangedEvent;
+import com.sky.mapper.BookMapper;
+import com.sky.mapper.BorrowRecordMapper;
+import com.sky.properties.RelatedBookProperties;
+import com.sky.service.RelatedBookService;
+import com.sky.utils.LongIntHashMap;
+import com.sky.vo.RelatedBookVO;
+import com.sky.vo.UserBookPairVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * “借过这本书的读者还借了”：基于读者借阅篮子的图书共现计数，相似度取余弦
+ * co(a,b) / sqrt(n(a) * n(b))，每本书只保留 topN 个邻居。
+ * 全量重建用 ForkJoin 并行统计共现，新借阅在事务提交后增量更新受影响图书的邻居列表。
+ * 书目信息按需加载并缓存，图书变更后整体失效；已删除或下架的图书不出现在结果中。
+ */
+@Service
+@Slf4j
+public class RelatedBookServiceImpl implements RelatedBookService {
+
+    private static final int LEAF_BASKETS = 256;
+
+    /**
+     * 书目缓存中的占位：图书已删除或下架，避免每次请求重复查库
+     */
+    private static final RelatedBookVO UNAVAILABLE = new RelatedBookVO();
+    private static final int MAX_LIMIT = 20;
+
+    @Autowired
+    private RelatedBookProperties relatedBookProperties;
+
+    @Autowired
+    private BorrowRecordMapper borrowRecordMapper;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    private final Object lock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    /**
+     * 共现计数与借阅人数，仅在 lock 内读写
+     */
+    private Map<Long, LongIntHashMap> coCounts = new HashMap<>();
+    private LongIntHashMap itemCounts = new LongIntHashMap();
+
+    private volatile Map<Long, Neighbours> index = new ConcurrentHashMap<>();
+    private final Map<Long, RelatedBookVO> bookMeta = new ConcurrentHashMap<>();
+
+    /**
+     * 书目缓存代次，失效时递增；加载期间发生失效的结果不再写入，避免旧数据覆盖
+     */
+    private final AtomicLong metaGeneration = new AtomicLong();
+
+    private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "related-book-warmup");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        warmUpExecutor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    /**
+     * 图书新增、修改、删除提交后丢弃书目缓存，下次查询按最新数据加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPortalContentChanged(PortalContentChangedEvent event) {
+        invalidateMeta();
+    }
+
+    @Override
+    public List<RelatedBookVO> listRelated(Long bookId, Integer limit) {
+        if (bookId == null) {
+            return Collections.emptyList();
+        }
+        Neighbours neighbours = index.get(bookId);
+        if (neighbours == null) {
+            return Collections.emptyList();
+        }
+        int n = limit == null ? 6 : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<Long> missing = new ArrayList<>();
+        for (long id : neighbours.ids) {
+            if (!bookMeta.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            loadMeta(missing);
+        }
+        List<RelatedBookVO> result = new ArrayList<>(Math.min(n, neighbours.ids.length));
+        for (int i = 0; i < neighbours.ids.length && result.size() < n; i++) {
+            RelatedBookVO meta = bookMeta.get(neighbours.ids[i]);
+            if (meta == null || meta == UNAVAILABLE) {
+                continue;
+            }
+            result.add(new RelatedBookVO(meta.getBookId(), meta.getTitle(), meta.getAuthor(), meta.getCoverUrl(),
+                    (double) neighbours.scores[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("相关图书索引正在重建，忽略本次请求");
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            List<long[]> baskets = loadBaskets();
+
+            LongIntHashMap items = new LongIntHashMap(1024);
+            for (long[] basket : baskets) {
+                for (long bookId : basket) {
+                    items.addTo(bookId, 1);
+                }
+            }
+
+            int parallelism = relatedBookProperties.getParallelism() > 0
+                    ? relatedBookProperties.getParallelism()
+                    : Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            Map<Long, LongIntHashMap> co;
+            try {
+                co = pool.invoke(new CoOccurrenceTask(baskets, 0, baskets.size()));
+            } finally {
+                pool.shutdown();
+            }
+
+            Map<Long, Neighbours> newIndex = new ConcurrentHashMap<>(co.size() * 2);
+            int topN = relatedBookProperties.getTopN();
+            co.forEach((bookId, counts) -> newIndex.put(bookId, topNeighbours(counts, items, bookId, topN)));
+
+            // 重建读取数据库期间提交的少量增量会在下一次重建时补齐
+            synchronized (lock) {
+                coCounts = co;
+                itemCounts = items;
+                index = newIndex;
+            }
+            // 书目按需重新加载，顺带清掉已不在索引中的图书
+            invalidateMeta();
+            log.info("相关图书索引重建完成：读者{}个, 图书{}本, 耗时{}ms",
+                    baskets.size(), newIndex.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("相关图书索引重建失败", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBorrowed(BookBorrowedEvent event) {
+        Book book = event.getBook();
+        if (book == null || book.getId() == null || event.getUserId() == null) {
+            return;
+        }
+        Long bookId = book.getId();
+        putMeta(bookId, book);
+
+        // 按读者去重：重复借同一本书不改变共现
+        if (borrowRecordMapper.countByUserAndBook(event.getUserId(), bookId) > 1) {
+            return;
+        }
+        List<Long> history = borrowRecordMapper.listRecentBookIdsByUser(
+                event.getUserId(), relatedBookProperties.getMaxBasketSize());
+        int topN = relatedBookProperties.getTopN();
+
+        synchronized (lock) {
+            itemCounts.addTo(bookId, 1);
+            LongIntHashMap mine = coCounts.computeIfAbsent(bookId, k -> new LongIntHashMap());
+            for (Long other : history) {
+                if (other == null || other.equals(bookId)) {
+                    continue;
+                }
+                mine.addTo(other, 1);
+                LongIntHashMap theirs = coCounts.computeIfAbsent(other, k -> new LongIntHashMap());
+                theirs.addTo(bookId, 1);
+                index.put(other, topNeighbours(theirs, itemCounts, other, topN));
+            }
+            index.put(bookId, topNeighbours(mine, itemCounts, bookId, topN));
+        }
+    }
+
+    /**
+     * 流式读取读者-图书借阅对，按读者聚成篮子；同一读者内已按最近借阅排序，超出上限的较早记录被截断
+     */
+    private List<long[]> loadBaskets() {
+        int maxBasket = Math.max(2, relatedBookProperties.getMaxBasketSize());
+        List<long[]> baskets = new ArrayList<>();
+        long[] buffer = new long[maxBasket];
+        int[] state = new int[1];
+        Long[] currentUser = new Long[1];
+
+        borrowRecordMapper.streamUserBookPairs(ctx -> {
+            UserBookPairVO pair = ctx.getResultObject();
+            if (!pair.getUserId().equals(currentUser[0])) {
+                if (state[0] > 0) {
+                    baskets.add(Arrays.copyOf(buffer, state[0]));
+                }
+                currentUser[0] = pair.getUserId();
+                state[0] = 0;
+            }
+            if (state[0] < maxBasket) {
+                buffer[state[0]++] = pair.getBookId();
+            }
+        });
+        if (state[0] > 0) {
+            baskets.add(Arrays.copyOf(buffer, state[0]));
+        }
+        return baskets;
+    }
+
+    /**
+     * 加载一批邻居的书目；查不到（已删除）的记为不可用
+     */
+    private void loadMeta(List<Long> bookIds) {
+        long generation = metaGeneration.get();
+        Map<Long, Book> found = new HashMap<>();
+        for (Book book : DataSourceRouter.onPrimary(() -> bookMapper.listByIds(bookIds))) {
+            found.put(book.getId(), book);
+        }
+        if (metaGeneration.get() != generation) {
+            return;
+        }
+        for (Long id : bookIds) {
+            putMeta(id, found.get(id));
+        }
+    }
+
+    private void putMeta(Long bookId, Book book) {
+        if (bookMeta.size() >= relatedBookProperties.getMetaCacheSize()) {
+            bookMeta.clear();
+        }
+        boolean available = book != null && Integer.valueOf(1).equals(book.getStatus());
+        bookMeta.put(bookId, available
+                ? new RelatedBookVO(bookId, book.getTitle(), book.getAuthor(), book.getCoverUrl(), null)
+                : UNAVAILABLE);
+    }
+
+    private void invalidateMeta() {
+        metaGeneration.incrementAndGet();
+        bookMeta.clear();
+    }
+
+    private static Neighbours topNeighbours(LongIntHashMap counts, LongIntHashMap items, long bookId, int topN) {
+        int selfCount = Math.max(1, items.get(bookId));
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(topN + 1, (a, b) -> Float.compare(a.score, b.score));
+        counts.forEach((other, co) -> {
+            float score = (float) (co / Math.sqrt((double) selfCount * Math.max(1, items.get(other))));
+            if (heap.size() < topN) {
+                heap.add(new Candidate(other, score));
+            } else if (heap.peek().score < score) {
+                heap.poll();
+                heap.add(new Candidate(other, score));
+            }
+        });
+        int size = heap.size();
+        long[] ids = new long[size];
+        float[] scores = new float[size];
+        for (int i = size - 1; i >= 0; i--) {
+            Candidate c = heap.poll();
+            ids[i] = c.bookId;
+            scores[i] = c.score;
+        }
+        return new Neighbours(ids, scores);
+    }
+
+    /**
+     * 对篮子区间统计共现对，区间足够小时直接计算，否则二分后并行
+     */
+    private static class CoOccurrenceTask extends RecursiveTask<Map<Long, LongIntHashMap>> {
+        private final List<long[]> baskets;
+        private final int from;
+        private final int to;
+
+        CoOccurrenceTask(List<long[]> baskets, int from, int to) {
+            this.baskets = baskets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, LongIntHashMap> compute() {
+            if (to - from <= LEAF_BASKETS) {
+                Map<Long, LongIntHashMap> local = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    long[] basket = baskets.get(i);
+                    for (int a = 0; a < basket.length; a++) {
+                        LongIntHashMap row = local.computeIfAbsent(basket[a], k -> new LongIntHashMap());
+                        for (int b = 0; b < basket.length; b++) {
+                            if (a != b) {
+                                row.addTo(basket[b], 1);
+                            }
+                        }
+                    }
+                }
+                return local;
+            }
+            int mid = (from + to) >>> 1;
+            CoOccurrenceTask left = new CoOccurrenceTask(baskets, from, mid);
+            left.fork();
+            Map<Long, LongIntHashMap> right = new CoOccurrenceTask(baskets, mid, to).compute();
+            Map<Long, LongIntHashMap> leftResult = left.join();
+
+            Map<Long, LongIntHashMap> target = leftResult.size() >= right.size() ? leftResult : right;
+            Map<Long, LongIntHashMap> source = target == leftResult ? right : leftResult;
+            source.forEach((bookId, row) -> {
+                LongIntHashMap existing = target.get(bookId);
+                if (existing == null) {
+                    target.put(bookId, row);
+                } else {
+                    existing.addAll(row);
+                }
+            });
+            return target;
+        }
+    }
+
+    private static class Neighbours {
+        private final long[] ids;
+        private final float[] scores;
+
+        Neighbours(long[] ids, float[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+    }
+
+    private static class Candidate {
+        private final long bookId;
+        private final float score;
+
+        Candidate(long bookId, float score) {
+            this.bookId = bookId;
+            this.score = score;
+        }
+    }
+}
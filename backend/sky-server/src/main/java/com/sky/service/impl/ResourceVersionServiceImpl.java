@@ -0,0 +1,150 @@
+package com.sky.service.impl;
+
+import com.sky.properties.HttpCacheProperties;
+import com.sky.service.ResourceVersionService;
+import com.sky.utils.HttpCacheUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按资源维护的版本计数器，供条件请求计算 ETag / Last-Modified，并决定响应体缓存是否失效。
+ * 计数器取最近一次变更的毫秒时刻（同一毫秒内多次变更逐次加一），单调递增，同时作为 Last-Modified。
+ * <p>
+ * 开启 sky.http-cache.redis-enabled 后计数器保存在 Redis 中，变更时原子递增，各实例每 versionRefreshMs 重新读取，
+ * 任一实例的变更在该间隔内对所有实例生效；未开启或 Redis 异常时只在本实例内存中维护，仅适合单实例部署。
+ * <p>
+ * 版本必须在事务提交后再递增：提交前递增会让并发请求读到旧数据却拿到新 ETag，客户端将一直缓存旧内容。
+ */
+@Service
+@Slf4j
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    /**
+     * KEYS[1]=版本键；ARGV[1]=当前毫秒。取 max(旧值 + 1, 当前毫秒)，保证单调
+     */
+    private static final String BUMP_LUA =
+            "local v = tonumber(redis.call('GET', KEYS[1]))\n" +
+            "local n = tonumber(ARGV[1])\n" +
+            "if v ~= nil and v >= n then n = v + 1 end\n" +
+            "redis.call('SET', KEYS[1], string.format('%d', n))\n" +
+            "return n";
+
+    @Autowired
+    private HttpCacheProperties httpCacheProperties;
+
+    @Autowired
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    private final long bootMillis = System.currentTimeMillis();
+
+    private final ConcurrentMap<String, State> states = new ConcurrentHashMap<>();
+
+    private StringRedisTemplate redisTemplate;
+
+    private DefaultRedisScript<Long> bumpScript;
+
+    @PostConstruct
+    public void init() {
+        bumpScript = new DefaultRedisScript<>(BUMP_LUA, Long.class);
+        if (httpCacheProperties.isRedisEnabled()) {
+            redisTemplate = redisTemplateProvider.getIfAvailable();
+            if (redisTemplate == null) {
+                log.warn("未配置 Redis，资源版本仅在本实例生效");
+            }
+        }
+    }
+
+    @Override
+    public Version current(String resource) {
+        long now = System.currentTimeMillis();
+        State state = states.get(resource);
+        if (state == null || (redisTemplate != null && now - state.checkedAt >= httpCacheProperties.getVersionRefreshMs())) {
+            state = load(resource, state, now);
+        }
+        return state.version;
+    }
+
+    @Override
+    public void bump(String resource) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(resource);
+                }
+            });
+        } else {
+            increment(resource);
+        }
+    }
+
+    private State load(String resource, State previous, long now) {
+        long counter = previous == null ? bootMillis : previous.counter;
+        if (redisTemplate != null) {
+            try {
+                String key = redisKey(resource);
+                String value = redisTemplate.opsForValue().get(key);
+                if (value == null) {
+                    redisTemplate.opsForValue().setIfAbsent(key, Long.toString(counter));
+                    value = redisTemplate.opsForValue().get(key);
+                }
+                if (value != null) {
+                    counter = Long.parseLong(value);
+                }
+            } catch (Exception e) {
+                // 沿用本地版本，下个刷新间隔再试
+                log.warn("读取资源版本失败：{}", resource, e);
+            }
+        }
+        State state = new State(resource, counter, now);
+        states.put(resource, state);
+        return state;
+    }
+
+    private void increment(String resource) {
+        long now = System.currentTimeMillis();
+        if (redisTemplate != null) {
+            try {
+                Long counter = redisTemplate.execute(bumpScript, Collections.singletonList(redisKey(resource)), Long.toString(now));
+                if (counter != null) {
+                    states.put(resource, new State(resource, counter, now));
+                    log.debug("资源版本递增：{} -> {}", resource, counter);
+                    return;
+                }
+            } catch (Exception e) {
+                log.warn("资源版本同步到 Redis 失败，仅本实例生效：{}", resource, e);
+            }
+        }
+        State state = states.compute(resource, (key, old) ->
+                new State(key, Math.max(old == null ? bootMillis + 1 : old.counter + 1, now), now));
+        log.debug("资源版本递增：{} -> {}", resource, state.counter);
+    }
+
+    private String redisKey(String resource) {
+        return httpCacheProperties.getRedisKeyPrefix() + resource;
+    }
+
+    private static class State {
+        private final long counter;
+        private final long checkedAt;
+        private final Version version;
+
+        State(String resource, long counter, long checkedAt) {
+            this.counter = counter;
+            this.checkedAt = checkedAt;
+            this.version = new Version(HttpCacheUtil.weakEtag(resource + "-" + Long.toString(counter, 36)),
+                    counter / 1000 * 1000);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sky.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.datasource.DataSourceRouter;
+import com.sky.json.JacksonObjectMapper;
+import com.sky.json.PreSerializedJson;
+import com.sky.properties.HttpCacheProperties;
+import com.sky.result.Result;
+import com.sky.service.ResourceVersionService;
+import com.sky.service.ResponseBodyCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 按资源版本失效的响应体缓存：同一版本下相同查询只序列化一次，之后直接写出字节。
+ * 必须先取版本再加载数据——反过来会把旧数据记在新版本下，直到下次变更前一直返回旧内容。
+ * 同理，回源查询固定走主库：从库上的旧数据一旦记在新版本下，复制追上后也不会刷新。
+ * 条目另有最长保留时间（bodyCacheTtlMs），版本之外的变更途径也只会陈旧有限时间。
+ */
+@Service
+@Slf4j
+public class ResponseBodyCacheImpl implements ResponseBodyCache {
+
+    private final ObjectMapper objectMapper = new JacksonObjectMapper();
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private HttpCacheProperties httpCacheProperties;
+
+    @Override
+    public PreSerializedJson get(String resource, String key, Supplier<?> loader) {
+        if (key == null || !httpCacheProperties.isBodyCacheEnabled()) {
+            return serialize(loader.get());
+        }
+        String version = resourceVersionService.current(resource).getEtag();
+        String cacheKey = resource + ":" + key;
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(cacheKey);
+        if (entry != null && entry.version.equals(version) && now - entry.createdAt < httpCacheProperties.getBodyCacheTtlMs()) {
+            return entry.json;
+        }
+        PreSerializedJson json = serialize(DataSourceRouter.onPrimary(loader));
+        if (entries.size() >= httpCacheProperties.getBodyCacheSize()) {
+            log.debug("响应体缓存已满（{}），清空重建", entries.size());
+            entries.clear();
+        }
+        entries.put(cacheKey, new Entry(version, json, now));
+        return json;
+    }
+
+    private PreSerializedJson serialize(Object data) {
+        try {
+            return new PreSerializedJson(objectMapper.writeValueAsBytes(Result.success(data)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("响应序列化失败", e);
+        }
+    }
+
+    private static class Entry {
+        private final String version;
+        private final PreSerializedJson json;
+        private final long createdAt;
+
+        Entry(String version, PreSerializedJson json, long createdAt) {
+            this.version = version;
+            this.json = json;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.sky.service.impl;
+
+import com.sky.properties.TokenRevocationProperties;
+import com.sky.service.TokenRevocationService;
+import com.sky.utils.BloomFilter;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌吊销：内存布隆过滤器在前，精确的吊销表在后。
+ * 绝大多数请求的令牌未被吊销，只需几次位探测即可放行；过滤器命中时才查精确表。
+ * 吊销记录在对应令牌过期后由定时清理移除，可选通过 Redis 持久化并广播到其它实例。
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService, MessageListener {
+
+    @Autowired
+    private TokenRevocationProperties tokenRevocationProperties;
+
+    @Autowired
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Autowired
+    private ObjectProvider<RedisConnectionFactory> redisConnectionFactoryProvider;
+
+    /**
+     * 键 -> 吊销记录；令牌键为 ns:t:jti，账号键为 ns:s:id（value 为吊销时刻，单位秒）
+     */
+    private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    private StringRedisTemplate redisTemplate;
+    private RedisMessageListenerContainer listenerContainer;
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = newBloomFilter();
+        if (!tokenRevocationProperties.isRedisEnabled()) {
+            return;
+        }
+        redisTemplate = redisTemplateProvider.getIfAvailable();
+        RedisConnectionFactory connectionFactory = redisConnectionFactoryProvider.getIfAvailable();
+        if (redisTemplate == null || connectionFactory == null) {
+            log.warn("未配置 Redis，令牌吊销仅在本实例生效");
+            redisTemplate = null;
+            return;
+        }
+        try {
+            loadFromRedis();
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(connectionFactory);
+            listenerContainer.addMessageListener(this, new ChannelTopic(tokenRevocationProperties.getRedisChannel()));
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        } catch (Exception e) {
+            log.warn("令牌吊销 Redis 同步初始化失败，仅在本实例生效", e);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    @Override
+    public void revokeToken(String namespace, Claims claims) {
+        if (claims == null || claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        String key = tokenKey(namespace, claims.getId());
+        long expiresAt = claims.getExpiration().getTime();
+        apply(key, 0L, expiresAt);
+        replicate(key, 0L, expiresAt);
+    }
+
+    @Override
+    public void revokeSubject(String namespace, Long subjectId, long ttlMillis) {
+        if (subjectId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String key = subjectKey(namespace, subjectId);
+        apply(key, now / 1000, now + ttlMillis);
+        replicate(key, now / 1000, now + ttlMillis);
+    }
+
+    @Override
+    public boolean isRevoked(String namespace, Long subjectId, Claims claims) {
+        BloomFilter filter = bloomFilter;
+        long now = System.currentTimeMillis();
+
+        String jti = claims.getId();
+        if (jti != null) {
+            String key = tokenKey(namespace, jti);
+            if (filter.mightContain(key)) {
+                Revocation r = revocations.get(key);
+                if (r != null && r.expiresAt > now) {
+                    return true;
+                }
+            }
+        }
+
+        if (subjectId != null) {
+            String key = subjectKey(namespace, subjectId);
+            if (filter.mightContain(key)) {
+                Revocation r = revocations.get(key);
+                // JWT 的 iat 精度为秒，同一秒内签发的令牌按已吊销处理；没有 iat 的旧令牌同样视为已吊销
+                if (r != null && r.expiresAt > now
+                        && (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() / 1000 <= r.value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            revocations.values().removeIf(r -> r.expiresAt <= now);
+            BloomFilter rebuilt = newBloomFilter();
+            revocations.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|");
+        if (parts.length != 3) {
+            log.warn("忽略无法解析的吊销广播：{}", body);
+            return;
+        }
+        try {
+            apply(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无法解析的吊销广播：{}", body);
+        }
+    }
+
+    /**
+     * 先写精确表再写过滤器，读取方先查过滤器再查表，保证不会漏判；与重建互斥以免新条目丢失
+     */
+    private synchronized void apply(String key, long value, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revocations.merge(key, new Revocation(value, expiresAt),
+                (a, b) -> new Revocation(Math.max(a.value, b.value), Math.max(a.expiresAt, b.expiresAt)));
+        bloomFilter.put(key);
+    }
+
+    private void replicate(String key, long value, long expiresAt) {
+        if (redisTemplate == null) {
+            return;
+        }
+        long ttl = expiresAt - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        String payload = value + "|" + expiresAt;
+        try {
+            redisTemplate.opsForValue().set(tokenRevocationProperties.getRedisKeyPrefix() + key, payload, ttl, TimeUnit.MILLISECONDS);
+            redisTemplate.convertAndSend(tokenRevocationProperties.getRedisChannel(), key + "|" + payload);
+        } catch (Exception e) {
+            log.warn("令牌吊销同步到 Redis 失败：{}", key, e);
+        }
+    }
+
+    private void loadFromRedis() {
+        String prefix = tokenRevocationProperties.getRedisKeyPrefix();
+        int loaded = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(500).build())) {
+            while (cursor.hasNext()) {
+                String redisKey = cursor.next();
+                String payload = redisTemplate.opsForValue().get(redisKey);
+                if (payload == null) {
+                    continue;
+                }
+                String[] parts = payload.split("\\|");
+                if (parts.length == 2) {
+                    apply(redisKey.substring(prefix.length()), Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                    loaded++;
+                }
+            }
+        }
+        log.info("从 Redis 加载令牌吊销记录{}条", loaded);
+    }
+
+    private BloomFilter newBloomFilter() {
+        return new BloomFilter(tokenRevocationProperties.getExpectedEntries(), tokenRevocationProperties.getFpp());
+    }
+
+    private static String tokenKey(String namespace, String jti) {
+        return namespace + ":t:" + jti;
+    }
+
+    private static String subjectKey(String namespace, Long subjectId) {
+        return namespace + ":s:" + subjectId;
+    }
+
+    private static class Revocation {
+        private final long value;
+        private final long expiresAt;
+
+        Revocation(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
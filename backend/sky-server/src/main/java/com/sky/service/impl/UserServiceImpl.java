@@ -1,5 +1,6 @@
 package com.sky.service.impl;
 
+import com.sky.datasource.DataSourceRouter;
 import com.sky.entity.User;
 import com.sky.mapper.BorrowRecordMapper;
 import com.sky.mapper.UserMapper;
@@ -10,10 +11,20 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final long STATUS_TTL_MILLIS = 5 * 60 * 1000L;
+    private static final int STATUS_CACHE_SIZE = 10000;
+
+    /**
+     * 用户id -> 账号状态快照，管理员修改状态时主动失效，其余情况按 TTL 过期
+     */
+    private final Map<Long, StatusEntry> statusCache = new ConcurrentHashMap<>();
+
     @Autowired
     private UserMapper userMapper;
 
@@ -28,6 +39,32 @@ public class UserServiceImpl implements UserService {
         return userMapper.getById(id);
     }
 
+    @Override
+    public boolean isActive(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        StatusEntry cached = statusCache.get(userId);
+        if (cached != null && now - cached.loadedAt < STATUS_TTL_MILLIS) {
+            return cached.active;
+        }
+        // 管理员停用读者后从库可能仍是启用状态，回源读主库，避免把旧状态再缓存一个周期
+        boolean active = DataSourceRouter.onPrimary(() -> userMapper.isActive(userId));
+        if (statusCache.size() >= STATUS_CACHE_SIZE) {
+            statusCache.clear();
+        }
+        statusCache.put(userId, new StatusEntry(active, now));
+        return active;
+    }
+
+    @Override
+    public void evictStatus(Long userId) {
+        if (userId != null) {
+            statusCache.remove(userId);
+        }
+    }
+
     @Override
     public List<BorrowedBookVO> listBorrowedByUserId(Long userId) {
         if (userId == null) {
@@ -35,4 +72,14 @@ public class UserServiceImpl implements UserService {
         }
         return borrowRecordMapper.listBorrowedByUserId(userId);
     }
+
+    private static class StatusEntry {
+        private final boolean active;
+        private final long loadedAt;
+
+        StatusEntry(boolean active, long loadedAt) {
+            this.active = active;
+            this.loadedAt = loadedAt;
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.admin.BorrowArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期重读归档水位：归档可能在其它实例上执行，水位过旧会让借阅记录查询漏掉刚搬到归档表的记录
+ */
+@Component
+public class BorrowArchiveWatermarkRefreshTask {
+
+    @Autowired
+    private BorrowArchiveService borrowArchiveService;
+
+    @Scheduled(fixedDelayString = "${sky.archive.watermark-refresh-interval-ms:60000}")
+    public void refresh() {
+        borrowArchiveService.refreshArchiveWatermark();
+    }
+}
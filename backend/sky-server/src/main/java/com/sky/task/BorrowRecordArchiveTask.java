@@ -0,0 +1,27 @@
+package com.sky.task;
+
+import com.sky.properties.BorrowArchiveProperties;
+import com.sky.service.admin.BorrowArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 每日低峰期归档已归还较久的借阅记录
+ */
+@Component
+public class BorrowRecordArchiveTask {
+
+    @Autowired
+    private BorrowArchiveProperties borrowArchiveProperties;
+
+    @Autowired
+    private BorrowArchiveService borrowArchiveService;
+
+    @Scheduled(cron = "${sky.archive.cron:0 30 3 * * ?}")
+    public void archive() {
+        if (borrowArchiveProperties.isEnabled()) {
+            borrowArchiveService.archive();
+        }
+    }
+}
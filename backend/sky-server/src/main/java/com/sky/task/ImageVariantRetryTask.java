@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.admin.ImageVariantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期重新提交到期的缩略图重试任务
+ */
+@Component
+public class ImageVariantRetryTask {
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Scheduled(fixedDelayString = "${sky.image-variant.retry-interval-ms:10000}")
+    public void retryPending() {
+        imageVariantService.retryPending();
+    }
+}
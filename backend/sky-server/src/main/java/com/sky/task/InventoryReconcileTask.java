@@ -0,0 +1,27 @@
+package com.sky.task;
+
+import com.sky.properties.InventoryReconcileProperties;
+import com.sky.service.admin.InventoryReconcileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 每日低峰期核对图书可借数量
+ */
+@Component
+public class InventoryReconcileTask {
+
+    @Autowired
+    private InventoryReconcileProperties inventoryReconcileProperties;
+
+    @Autowired
+    private InventoryReconcileService inventoryReconcileService;
+
+    @Scheduled(cron = "${sky.reconcile.cron:0 0 5 * * ?}")
+    public void reconcile() {
+        if (inventoryReconcileProperties.isEnabled()) {
+            inventoryReconcileService.reconcile(inventoryReconcileProperties.isAutoRepair());
+        }
+    }
+}
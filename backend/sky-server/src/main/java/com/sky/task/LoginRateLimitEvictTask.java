@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.LoginRateLimitService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期清理空闲的登录限流令牌桶
+ */
+@Component
+public class LoginRateLimitEvictTask {
+
+    @Autowired
+    private LoginRateLimitService loginRateLimitService;
+
+    @Scheduled(fixedDelayString = "${sky.login-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        loginRateLimitService.evictIdle();
+    }
+}
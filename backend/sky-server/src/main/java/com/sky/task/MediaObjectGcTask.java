@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.admin.MediaObjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 每日低峰期回收无人引用的封面图片
+ */
+@Component
+public class MediaObjectGcTask {
+
+    @Autowired
+    private MediaObjectService mediaObjectService;
+
+    @Scheduled(cron = "${sky.media.gc-cron:0 30 4 * * ?}")
+    public void collectGarbage() {
+        mediaObjectService.collectGarbage();
+    }
+}
@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.PopularBookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期把热门借阅计数写入检查点文件
+ */
+@Component
+public class PopularBookCheckpointTask {
+
+    @Autowired
+    private PopularBookService popularBookService;
+
+    @Scheduled(fixedDelayString = "${sky.popular.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        popularBookService.checkpoint();
+    }
+}
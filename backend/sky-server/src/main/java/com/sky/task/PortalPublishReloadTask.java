@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.PortalPublishService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期从数据库补充发布调度，其它实例保存的门户内容在该间隔内也会在本实例到点发布
+ */
+@Component
+public class PortalPublishReloadTask {
+
+    @Autowired
+    private PortalPublishService portalPublishService;
+
+    @Scheduled(fixedDelayString = "${sky.portal.publish-reload-interval-ms:30000}")
+    public void reload() {
+        portalPublishService.reload();
+    }
+}
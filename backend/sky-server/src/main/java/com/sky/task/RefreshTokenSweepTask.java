@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期清理过期的刷新令牌会话
+ */
+@Component
+public class RefreshTokenSweepTask {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Scheduled(fixedDelayString = "${sky.jwt.refresh-sweep-interval-ms:300000}")
+    public void sweep() {
+        refreshTokenService.sweep();
+    }
+}
@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.RelatedBookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 每晚全量重建相关图书索引，修正增量更新的累积偏差
+ */
+@Component
+public class RelatedBookRebuildTask {
+
+    @Autowired
+    private RelatedBookService relatedBookService;
+
+    @Scheduled(cron = "${sky.related.rebuild-cron:0 0 4 * * ?}")
+    public void rebuild() {
+        relatedBookService.rebuild();
+    }
+}
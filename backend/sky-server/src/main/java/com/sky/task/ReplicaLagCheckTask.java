@@ -0,0 +1,23 @@
+package com.sky.task;
+
+import com.sky.datasource.DataSourceRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期检查从库复制延迟，超限时读流量回退主库
+ */
+@Component
+@ConditionalOnProperty(prefix = "sky.datasource-routing", name = "enabled", havingValue = "true")
+public class ReplicaLagCheckTask {
+
+    @Autowired
+    private DataSourceRouter dataSourceRouter;
+
+    @Scheduled(fixedDelayString = "${sky.datasource-routing.lag-check-interval-ms:5000}")
+    public void check() {
+        dataSourceRouter.checkReplicaLag();
+    }
+}
@@ -0,0 +1,21 @@
+package com.sky.task;
+
+import com.sky.service.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期清理已过期的令牌吊销记录
+ */
+@Component
+public class TokenRevocationSweepTask {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Scheduled(fixedDelayString = "${sky.revocation.sweep-interval-ms:60000}")
+    public void sweep() {
+        tokenRevocationService.sweep();
+    }
+}
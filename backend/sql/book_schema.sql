@@ -114,6 +114,30 @@ CREATE TABLE IF NOT EXISTS `borrow_record` (
   CONSTRAINT `ck_borrow_fine` CHECK (`fine_amount` IS NULL OR `fine_amount` >= 0)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='借阅记录';
 
+-- 借阅记录归档（已归还较久或已软删除的冷数据，由归档任务从 borrow_record 搬迁）
+CREATE TABLE IF NOT EXISTS `borrow_record_archive` (
+  `id` bigint NOT NULL COMMENT '主键（沿用 borrow_record.id）',
+  `user_id` bigint NOT NULL COMMENT '读者ID',
+  `book_id` bigint NOT NULL COMMENT '图书ID',
+  `borrow_at` datetime NOT NULL COMMENT '借出时间',
+  `due_at` datetime NOT NULL COMMENT '应还时间',
+  `return_at` datetime DEFAULT NULL COMMENT '归还时间',
+  `renew_count` int NOT NULL DEFAULT 0 COMMENT '续借次数',
+  `status` tinyint NOT NULL DEFAULT 0 COMMENT '状态 0借出 1已还 2逾期',
+  `fine_amount` decimal(10,2) DEFAULT NULL COMMENT '罚款金额（可空）',
+  `handled_by` bigint DEFAULT NULL COMMENT '经办管理员ID（可空）',
+  `create_time` datetime NOT NULL COMMENT '创建时间',
+  `update_time` datetime NOT NULL COMMENT '更新时间',
+  `create_user` bigint DEFAULT NULL COMMENT '创建人',
+  `update_user` bigint DEFAULT NULL COMMENT '更新人',
+  `is_deleted` tinyint NOT NULL DEFAULT 0 COMMENT '是否删除 0否 1是',
+  `archived_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_borrow_archive_borrow_at` (`borrow_at`),
+  KEY `idx_borrow_archive_user` (`user_id`),
+  KEY `idx_borrow_archive_book` (`book_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='借阅记录归档';
+
 -- 门户内容（轮播/新闻/公告）
 CREATE TABLE IF NOT EXISTS `portal_post` (
   `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',
@@ -139,6 +163,44 @@ CREATE TABLE IF NOT EXISTS `portal_post` (
   CONSTRAINT `ck_portal_post_status` CHECK (`status` IN (0, 1))
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='门户内容';
 
+-- 借阅统计汇总（按日/分类/读者类型，借还续借时增量维护）
+CREATE TABLE IF NOT EXISTS `circulation_stat` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',
+  `dimension` varchar(20) NOT NULL COMMENT '统计维度 day/category/reader_type',
+  `dim_key` varchar(64) NOT NULL COMMENT '维度取值（日期yyyy-MM-dd/分类名/读者类型ID）',
+  `borrow_count` bigint NOT NULL DEFAULT 0 COMMENT '借出次数',
+  `return_count` bigint NOT NULL DEFAULT 0 COMMENT '归还次数',
+  `renew_count` bigint NOT NULL DEFAULT 0 COMMENT '续借次数',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_circulation_stat_dim` (`dimension`, `dim_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='借阅统计汇总';
+
+-- 媒体对象（按内容摘要去重的上传文件，引用计数归零且超过保留期后由定时任务回收）
+CREATE TABLE IF NOT EXISTS `media_object` (
+  `digest` char(64) NOT NULL COMMENT '内容 SHA-256（小写十六进制）',
+  `object_name` varchar(255) NOT NULL COMMENT '存储对象名',
+  `content_type` varchar(50) NOT NULL COMMENT 'MIME 类型',
+  `size` bigint NOT NULL COMMENT '字节数',
+  `ref_count` int NOT NULL DEFAULT 0 COMMENT '引用数（图书/门户内容封面）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最近上传或引用变更时间',
+  PRIMARY KEY (`digest`),
+  KEY `idx_media_object_gc` (`ref_count`, `update_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='媒体对象';
+
+-- 读者刷新令牌会话（登录时创建，刷新时轮换令牌ID，登出/改密/冻结时删除）
+CREATE TABLE IF NOT EXISTS `user_refresh_session` (
+  `id` bigint NOT NULL COMMENT '会话ID（64位随机数）',
+  `user_id` bigint NOT NULL COMMENT '读者ID',
+  `token_id` bigint NOT NULL COMMENT '当前有效的刷新令牌ID（每次刷新轮换）',
+  `expires_at` bigint NOT NULL COMMENT '过期时刻（毫秒时间戳，每次刷新顺延）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '登录时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_user_refresh_session_user` (`user_id`),
+  KEY `idx_user_refresh_session_expires` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='读者刷新令牌会话';
+
 -- 可选：初始化基础读者类型（如需可取消注释）
 -- INSERT INTO `reader_type` (`name`, `max_borrow`, `borrow_days`, `max_renew`, `description`)
 -- VALUES
@@ -0,0 +1,26 @@
+-- 迁移：创建借阅记录归档表 borrow_record_archive（冷数据，已归还较久或已软删除的借阅记录）
+-- 用法：USE book; SOURCE backend/sql/migrations/2026_10_19_create_borrow_record_archive.sql;
+-- 归档任务按主键顺序小批量把记录从 borrow_record 搬到本表，ID 保持不变
+
+CREATE TABLE IF NOT EXISTS `borrow_record_archive` (
+  `id` bigint NOT NULL COMMENT '主键（沿用 borrow_record.id）',
+  `user_id` bigint NOT NULL COMMENT '读者ID',
+  `book_id` bigint NOT NULL COMMENT '图书ID',
+  `borrow_at` datetime NOT NULL COMMENT '借出时间',
+  `due_at` datetime NOT NULL COMMENT '应还时间',
+  `return_at` datetime DEFAULT NULL COMMENT '归还时间',
+  `renew_count` int NOT NULL DEFAULT 0 COMMENT '续借次数',
+  `status` tinyint NOT NULL DEFAULT 0 COMMENT '状态 0借出 1已还 2逾期',
+  `fine_amount` decimal(10,2) DEFAULT NULL COMMENT '罚款金额（可空）',
+  `handled_by` bigint DEFAULT NULL COMMENT '经办管理员ID（可空）',
+  `create_time` datetime NOT NULL COMMENT '创建时间',
+  `update_time` datetime NOT NULL COMMENT '更新时间',
+  `create_user` bigint DEFAULT NULL COMMENT '创建人',
+  `update_user` bigint DEFAULT NULL COMMENT '更新人',
+  `is_deleted` tinyint NOT NULL DEFAULT 0 COMMENT '是否删除 0否 1是',
+  `archived_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_borrow_archive_borrow_at` (`borrow_at`),
+  KEY `idx_borrow_archive_user` (`user_id`),
+  KEY `idx_borrow_archive_book` (`book_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='借阅记录归档';
@@ -0,0 +1,15 @@
+-- 迁移：创建借阅统计汇总表 circulation_stat（按日/分类/读者类型增量维护）
+-- 用法：USE book; SOURCE backend/sql/migrations/2026_10_19_create_circulation_stat.sql;
+-- 建表后可调用 POST /admin/stats/rebuild 从 borrow_record 回填历史数据
+
+CREATE TABLE IF NOT EXISTS `circulation_stat` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',
+  `dimension` varchar(20) NOT NULL COMMENT '统计维度 day/category/reader_type',
+  `dim_key` varchar(64) NOT NULL COMMENT '维度取值（日期yyyy-MM-dd/分类名/读者类型ID）',
+  `borrow_count` bigint NOT NULL DEFAULT 0 COMMENT '借出次数',
+  `return_count` bigint NOT NULL DEFAULT 0 COMMENT '归还次数',
+  `renew_count` bigint NOT NULL DEFAULT 0 COMMENT '续借次数',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_circulation_stat_dim` (`dimension`, `dim_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='借阅统计汇总';
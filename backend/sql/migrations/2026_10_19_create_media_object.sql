@@ -0,0 +1,15 @@
+-- 迁移：创建媒体对象表 media_object（按内容摘要去重的上传文件及其引用计数）
+-- 用法：USE book; SOURCE backend/sql/migrations/2026_10_19_create_media_object.sql;
+-- 迁移前上传的封面不在表中，不参与去重与回收
+
+CREATE TABLE IF NOT EXISTS `media_object` (
+  `digest` char(64) NOT NULL COMMENT '内容 SHA-256（小写十六进制）',
+  `object_name` varchar(255) NOT NULL COMMENT '存储对象名',
+  `content_type` varchar(50) NOT NULL COMMENT 'MIME 类型',
+  `size` bigint NOT NULL COMMENT '字节数',
+  `ref_count` int NOT NULL DEFAULT 0 COMMENT '引用数（图书/门户内容封面）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最近上传或引用变更时间',
+  PRIMARY KEY (`digest`),
+  KEY `idx_media_object_gc` (`ref_count`, `update_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='媒体对象';
@@ -0,0 +1,14 @@
+-- 迁移：创建读者刷新令牌会话表 user_refresh_session（会话落库，重启与多实例部署后仍可刷新）
+-- 用法：USE book; SOURCE backend/sql/migrations/2026_10_19_create_user_refresh_session.sql;
+-- 迁移前签发的刷新令牌只存在于旧进程内存中，升级后需重新登录
+
+CREATE TABLE IF NOT EXISTS `user_refresh_session` (
+  `id` bigint NOT NULL COMMENT '会话ID（64位随机数）',
+  `user_id` bigint NOT NULL COMMENT '读者ID',
+  `token_id` bigint NOT NULL COMMENT '当前有效的刷新令牌ID（每次刷新轮换）',
+  `expires_at` bigint NOT NULL COMMENT '过期时刻（毫秒时间戳，每次刷新顺延）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '登录时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_user_refresh_session_user` (`user_id`),
+  KEY `idx_user_refresh_session_expires` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='读者刷新令牌会话';
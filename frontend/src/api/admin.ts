@@ -99,6 +99,10 @@ export async function adminLogin(username: string, password: string) {
   )
 }
 
+export async function adminLogout() {
+  return requestJson<void>('/admin/auth/logout', withAdminToken({ method: 'POST' }))
+}
+
 export async function adminPagePosts(params: { type?: number; status?: number; keyword?: string; page?: number; pageSize?: number }) {
   const search = new URLSearchParams()
   if (params.type != null) search.set('type', String(params.type))
@@ -8,6 +8,8 @@ export type AuthScope = 'user' | 'admin'
 
 export const AUTH_EXPIRED_EVENT = 'lib-auth-expired'
 
+export const REFRESH_TOKEN_KEY = 'lib_refresh_token'
+
 export class AuthExpiredError extends Error {
   scope: AuthScope
 
@@ -39,12 +41,42 @@ function handleUnauthorized(scope: AuthScope) {
   } else {
     localStorage.removeItem('lib_token')
     localStorage.removeItem('lib_user')
+    localStorage.removeItem(REFRESH_TOKEN_KEY)
   }
 
   window.dispatchEvent(new CustomEvent(AUTH_EXPIRED_EVENT, { detail: { scope } }))
 }
 
-export async function requestJson<T>(path: string, init: RequestInit = {}): Promise<T> {
+let refreshing: Promise<boolean> | null = null
+
+// 访问令牌过期时用刷新令牌换新令牌；并发的 401 共用同一次刷新
+function refreshUserToken(): Promise<boolean> {
+  const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY)
+  if (!refreshToken) return Promise.resolve(false)
+  if (!refreshing) {
+    refreshing = (async () => {
+      try {
+        const response = await fetch('/api/auth/refresh', {
+          method: 'POST',
+          headers: { 'Content-Type': 'application/json' },
+          body: JSON.stringify({ refreshToken }),
+        })
+        const json = (await response.json()) as ApiResult<{ token: string; refreshToken: string }>
+        if (!response.ok || json.code !== 1 || !json.data) return false
+        localStorage.setItem('lib_token', json.data.token)
+        localStorage.setItem(REFRESH_TOKEN_KEY, json.data.refreshToken)
+        return true
+      } catch {
+        return false
+      } finally {
+        refreshing = null
+      }
+    })()
+  }
+  return refreshing
+}
+
+export async function requestJson<T>(path: string, init: RequestInit = {}, retried = false): Promise<T> {
   const headers = new Headers(init.headers)
   headers.set('Content-Type', 'application/json')
   withToken(headers)
@@ -60,6 +92,9 @@ export async function requestJson<T>(path: string, init: RequestInit = {}): Prom
 
   if (response.status === 401) {
     const scope: AuthScope = path.startsWith('/admin/') ? 'admin' : 'user'
+    if (scope === 'user' && !retried && (await refreshUserToken())) {
+      return requestJson<T>(path, init, true)
+    }
     handleUnauthorized(scope)
     throw new AuthExpiredError(scope)
   }
@@ -76,7 +111,7 @@ export async function requestJson<T>(path: string, init: RequestInit = {}): Prom
   return json.data as T
 }
 
-export async function requestForm<T>(path: string, init: RequestInit = {}): Promise<T> {
+export async function requestForm<T>(path: string, init: RequestInit = {}, retried = false): Promise<T> {
   const headers = new Headers(init.headers)
   withToken(headers)
 
@@ -91,6 +126,9 @@ export async function requestForm<T>(path: string, init: RequestInit = {}): Prom
 
   if (response.status === 401) {
     const scope: AuthScope = path.startsWith('/admin/') ? 'admin' : 'user'
+    if (scope === 'user' && !retried && (await refreshUserToken())) {
+      return requestForm<T>(path, init, true)
+    }
     handleUnauthorized(scope)
     throw new AuthExpiredError(scope)
   }
@@ -19,6 +19,7 @@ export type LoginResponse = {
   userId: number
   name: string
   code: string
+  refreshToken: string
 }
 
 export type BorrowedBook = {
@@ -90,6 +91,14 @@ export async function register(payload: { name: string; code: string; phone: str
   })
 }
 
+// 同时提交刷新令牌：访问令牌已过期时服务端据此结束刷新会话
+export async function logout(refreshToken?: string | null) {
+  return requestJson<void>('/api/auth/logout', {
+    method: 'POST',
+    body: JSON.stringify({ refreshToken: refreshToken ?? null }),
+  })
+}
+
 export async function listBooks(q?: string, category?: string) {
   const params = new URLSearchParams()
   if (q) params.set('q', q)
@@ -150,6 +159,17 @@ export async function listPortalPosts(type: number, limit = 10) {
   return requestJson<PortalPostListItem[]>(`/api/portal/posts?${params.toString()}`)
 }
 
+export type PortalHome = {
+  carousel: CarouselItem[]
+  news: PortalPostListItem[]
+  notices: PortalPostListItem[]
+  categories: string[]
+}
+
+export async function getPortalHome() {
+  return requestJson<PortalHome>('/api/portal/home')
+}
+
 export async function getPortalPost(id: number) {
   return requestJson<PortalPostDetail>(`/api/portal/posts/${id}`)
 }
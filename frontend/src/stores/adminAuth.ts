@@ -1,5 +1,5 @@
 import { defineStore } from 'pinia'
-import { adminLogin, type AdminLoginResponse } from '@/api/admin'
+import { adminLogin, adminLogout, type AdminLoginResponse } from '@/api/admin'
 
 export type AdminUser = Pick<AdminLoginResponse, 'adminId' | 'name' | 'username'>
 
@@ -30,6 +30,14 @@ export const useAdminAuthStore = defineStore('adminAuth', {
       localStorage.setItem(TOKEN_KEY, data.token)
       localStorage.setItem(USER_KEY, JSON.stringify(this.user))
     },
+    async signOut() {
+      try {
+        await adminLogout()
+      } catch {
+        // 令牌已失效时服务端无需吊销
+      }
+      this.logout()
+    },
     logout() {
       this.token = ''
       this.user = null
@@ -1,5 +1,6 @@
 import { defineStore } from 'pinia'
-import { login as loginApi, register as registerApi, type LoginResponse } from '@/api/library'
+import { login as loginApi, logout as logoutApi, register as registerApi, type LoginResponse } from '@/api/library'
+import { REFRESH_TOKEN_KEY } from '@/api/http'
 
 export type AuthUser = Pick<LoginResponse, 'userId' | 'name' | 'code'>
 
@@ -29,6 +30,7 @@ export const useAuthStore = defineStore('auth', {
       this.user = { userId: data.userId, name: data.name, code: data.code }
       localStorage.setItem(TOKEN_KEY, data.token)
       localStorage.setItem(USER_KEY, JSON.stringify(this.user))
+      localStorage.setItem(REFRESH_TOKEN_KEY, data.refreshToken)
     },
     async register(payload: { name: string; code: string; phone: string; password: string; readerTypeId?: number }) {
       const data = await registerApi(payload)
@@ -36,12 +38,22 @@ export const useAuthStore = defineStore('auth', {
       this.user = { userId: data.userId, name: data.name, code: data.code }
       localStorage.setItem(TOKEN_KEY, data.token)
       localStorage.setItem(USER_KEY, JSON.stringify(this.user))
+      localStorage.setItem(REFRESH_TOKEN_KEY, data.refreshToken)
+    },
+    async signOut() {
+      try {
+        await logoutApi(localStorage.getItem(REFRESH_TOKEN_KEY))
+      } catch {
+        // 令牌已失效时服务端无需吊销
+      }
+      this.logout()
     },
     logout() {
       this.token = ''
       this.user = null
       localStorage.removeItem(TOKEN_KEY)
       localStorage.removeItem(USER_KEY)
+      localStorage.removeItem(REFRESH_TOKEN_KEY)
     },
   },
 })
@@ -0,0 +1,40 @@
+import { reactive } from 'vue'
+
+export type ImageVariant = 'grid' | 'detail' | 'carousel'
+
+// 仅按摘要存储的上传封面有缩略图（WebP 不生成），外部粘贴的图片地址保持原样
+const VARIANT_SOURCE = /\/covers\/[0-9a-f]{2}\/[0-9a-f]{64}(\.(?:jpg|png|gif))(?=$|[?#])/
+
+export function coverVariant(url: string | null | undefined, variant: ImageVariant) {
+  if (!url) return url ?? ''
+  const m = VARIANT_SOURCE.exec(url)
+  if (!m || m.index == null) return url
+  const extStart = m.index + m[0].length - m[1].length
+  return `${url.slice(0, extStart)}_${variant}${url.slice(extStart)}`
+}
+
+// 缩略图异步生成，尚未生成或生成失败时回退到原图
+export function fallbackToOriginal(event: Event, original: string | null | undefined) {
+  const img = event.target as HTMLImageElement | null
+  if (!img || !original || img.dataset.fallback) return
+  img.dataset.fallback = '1'
+  img.src = original
+}
+
+// CSS 背景图没有 error 事件：用 Image 探测缩略图（与背景共用 HTTP 缓存，不会重复下载），
+// 失败后记入响应式集合，使用该背景的组件重新渲染时改用原图
+const failedVariants = reactive(new Set<string>())
+const probedVariants = new Set<string>()
+
+export function coverBackground(url: string | null | undefined, variant: ImageVariant) {
+  if (!url) return ''
+  const src = coverVariant(url, variant)
+  if (src === url || failedVariants.has(src)) return `url(${url})`
+  if (!probedVariants.has(src)) {
+    probedVariants.add(src)
+    const img = new Image()
+    img.onerror = () => failedVariants.add(src)
+    img.src = src
+  }
+  return `url(${src})`
+}